@@ -0,0 +1,43 @@
+-- Name search benchmark for GET /products?name=...
+--
+-- Seeds 1M products into an empty database and compares the query shape used before
+-- V1.2 (derived "IsContainingIgnoreCase" query, upper(name) like upper(?)) with the
+-- native ilike query backed by PRODUCT_NAME_TRGM_IDX.
+--
+-- Run against a scratch database that was migrated by the application:
+--   psql -h localhost -U postgres -d postgres_db -f benchmarks/sql/name-search.sql
+
+\timing on
+
+insert into PRODUCT (CODE, NAME, PRICE_EUR, DESCRIPTION, IS_AVAILABLE)
+select lpad(to_hex(i), 10, '0'),
+       (array ['Game', 'Keyboard', 'Desktop PC', 'Monitor', 'Mouse', 'Headset'])[1 + i % 6] || ' ' || md5(i::text),
+       round((random() * 1000)::numeric, 2),
+       'Benchmark product ' || i,
+       i % 2 = 0
+from generate_series(1, 1000000) as i;
+
+analyze PRODUCT;
+
+-- before: expression on upper(name) can not use any index, sequential scan
+explain (analyze, buffers)
+select * from PRODUCT where upper(NAME) like upper('%board 4f%') escape '\' order by ID limit 10;
+
+explain (analyze, buffers)
+select * from PRODUCT where upper(NAME) like upper('%board 4f%') escape '\' and ID > 500000 order by ID limit 10;
+
+-- after: ilike is served by the trigram GIN index
+explain (analyze, buffers)
+select * from PRODUCT where NAME ilike '%' || 'board 4f' || '%' order by ID limit 10;
+
+explain (analyze, buffers)
+select * from PRODUCT where NAME ilike '%' || 'board 4f' || '%' and ID > 500000 order by ID limit 10;
+
+-- same query with the index disabled, for a like-for-like planner comparison
+begin;
+drop index PRODUCT_NAME_TRGM_IDX;
+explain (analyze, buffers)
+select * from PRODUCT where NAME ilike '%' || 'board 4f' || '%' order by ID limit 10;
+rollback;
+
+delete from PRODUCT where DESCRIPTION like 'Benchmark product %';
@@ -0,0 +1,106 @@
+package com.ingemark.productmanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ingemark.productmanagement.enums.Action;
+import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
+import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper smileObjectMapper;
+    private CreatedProductEvent createdProductEvent;
+    private UpdatedProductEvent updatedProductEvent;
+
+    @Setup
+    public void setUp() {
+        // a plain ObjectMapper like the one Spring Boot configures, JsonMapper can not be copied with another factory
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        smileObjectMapper = objectMapper.copyWith(new SmileFactory());
+        var timestamp = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        createdProductEvent = CreatedProductEvent.builder()
+                .ofEventId(UUID.randomUUID().toString())
+                .ofTimestamp(timestamp)
+                .ofAction(Action.CREATE)
+                .ofProduct(CreatedProductEvent.Product.builder()
+                        .ofId(42L)
+                        .ofCode("1234567abc")
+                        .ofName("Keyboard")
+                        .ofPriceEur(new BigDecimal("99.42"))
+                        .ofDescription("This is keyboard product")
+                        .ofIsAvailable(true)
+                        .build())
+                .build();
+        updatedProductEvent = UpdatedProductEvent.builder()
+                .ofEventId(UUID.randomUUID())
+                .ofTimestamp(timestamp)
+                .ofAction(Action.UPDATE)
+                .ofProduct(UpdatedProductEvent.Product.builder()
+                        .ofId(42L)
+                        .ofCode("1234567abc")
+                        .ofName("Keyboard")
+                        .ofPriceEur(new BigDecimal("99.42"))
+                        .ofDescription("This is keyboard product")
+                        .ofIsAvailable(true)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public String createdEventAsString() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(createdProductEvent);
+    }
+
+    @Benchmark
+    public byte[] createdEventAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(createdProductEvent);
+    }
+
+    @Benchmark
+    public byte[] createdEventAsSmile() throws JsonProcessingException {
+        return smileObjectMapper.writeValueAsBytes(createdProductEvent);
+    }
+
+    @Benchmark
+    public String updatedEventAsString() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(updatedProductEvent);
+    }
+
+    @Benchmark
+    public byte[] updatedEventAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(updatedProductEvent);
+    }
+
+    @Benchmark
+    public byte[] updatedEventAsSmile() throws JsonProcessingException {
+        return smileObjectMapper.writeValueAsBytes(updatedProductEvent);
+    }
+
+    public static void main(String[] args) throws JsonProcessingException {
+        var benchmark = new EventSerializationBenchmark();
+        benchmark.setUp();
+        System.out.printf("CreatedProductEvent json  %d bytes%n", benchmark.createdEventAsBytes().length);
+        System.out.printf("CreatedProductEvent smile %d bytes%n", benchmark.createdEventAsSmile().length);
+        System.out.printf("UpdatedProductEvent json  %d bytes%n", benchmark.updatedEventAsBytes().length);
+        System.out.printf("UpdatedProductEvent smile %d bytes%n", benchmark.updatedEventAsSmile().length);
+    }
+}
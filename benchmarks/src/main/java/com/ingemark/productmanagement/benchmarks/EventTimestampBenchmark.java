@@ -0,0 +1,36 @@
+package com.ingemark.productmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventTimestampBenchmark {
+
+    private static final DateTimeFormatter EVENT_TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    @Benchmark
+    public ZonedDateTime formatThenParse() {
+        return ZonedDateTime.parse(ZonedDateTime.now(ZoneOffset.UTC)
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")));
+    }
+
+    @Benchmark
+    public ZonedDateTime formatThenParseCachedFormatter() {
+        return ZonedDateTime.parse(ZonedDateTime.now(ZoneOffset.UTC).format(EVENT_TIMESTAMP_FORMATTER));
+    }
+
+    @Benchmark
+    public ZonedDateTime truncatedToMillis() {
+        return ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+    }
+}
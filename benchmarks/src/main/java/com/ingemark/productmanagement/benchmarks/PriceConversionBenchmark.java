@@ -0,0 +1,49 @@
+package com.ingemark.productmanagement.benchmarks;
+
+import com.ingemark.productmanagement.mappers.FixedPointPrices;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceConversionBenchmark {
+
+    private static final int PRICES = 1024;
+
+    private final BigDecimal rate = new BigDecimal("1.10");
+    private final long minorRate = FixedPointPrices.toMinorRate(rate);
+    private BigDecimal[] prices;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        prices = new BigDecimal[PRICES];
+        for (var i = 0; i < PRICES; i++) {
+            prices[i] = BigDecimal.valueOf(random.nextLong(1, 500_000), 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalMultiply() {
+        return nextPrice().multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal fixedPointConvert() {
+        return FixedPointPrices.convert(nextPrice(), minorRate);
+    }
+
+    private BigDecimal nextPrice() {
+        index = (index + 1) & (PRICES - 1);
+        return prices[index];
+    }
+}
@@ -0,0 +1,103 @@
+package com.ingemark.productmanagement.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ProductApiLoadBenchmark {
+
+    private static final int MAX_SAMPLES_PER_CLIENT = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        var baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        var clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        var duration = args.length > 2 ? Duration.parse(args[2]) : Duration.ofSeconds(30);
+        var warmup = args.length > 3 ? Duration.parse(args[3]) : Duration.ofSeconds(10);
+
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        var requests = new HttpRequest[]{
+                HttpRequest.newBuilder(URI.create(baseUrl + "/products?size=20")).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/products?size=20&name=game")).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/products?size=5&currency=GBP,CHF")).GET().build()
+        };
+
+        System.out.printf("Warming up %s with %d clients for %s...%n", baseUrl, clients, warmup);
+        run(httpClient, requests, clients, warmup);
+        System.out.printf("Measuring %s with %d clients for %s...%n", baseUrl, clients, duration);
+        var result = run(httpClient, requests, clients, duration);
+
+        var latencies = result.latencies();
+        Arrays.sort(latencies);
+        System.out.printf("requests   %d (%d errors)%n", latencies.length, result.errors());
+        System.out.printf("throughput %.1f req/s%n", latencies.length / (duration.toNanos() / 1e9));
+        System.out.printf("p50        %.2f ms%n", percentile(latencies, 0.50));
+        System.out.printf("p99        %.2f ms%n", percentile(latencies, 0.99));
+        System.out.printf("p99.9      %.2f ms%n", percentile(latencies, 0.999));
+        System.out.printf("max        %.2f ms%n", percentile(latencies, 1.0));
+    }
+
+    private static Result run(HttpClient httpClient, HttpRequest[] requests, int clients, Duration duration) throws Exception {
+        var deadline = System.nanoTime() + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Result>>(clients);
+            for (var i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(httpClient, requests, deadline)));
+            }
+            var results = new ArrayList<Result>(clients);
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            var latencies = results.stream()
+                    .flatMapToLong(clientResult -> Arrays.stream(clientResult.latencies()))
+                    .toArray();
+            var errors = results.stream().mapToLong(Result::errors).sum();
+            return new Result(latencies, errors);
+        }
+    }
+
+    private static Result runClient(HttpClient httpClient, HttpRequest[] requests, long deadline) {
+        var latencies = new long[1024];
+        var samples = 0;
+        var errors = 0L;
+        while (System.nanoTime() < deadline && samples < MAX_SAMPLES_PER_CLIENT) {
+            var request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+            var startedAt = System.nanoTime();
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                    continue;
+                }
+            } catch (Exception e) {
+                errors++;
+                continue;
+            }
+            if (samples == latencies.length) {
+                latencies = Arrays.copyOf(latencies, samples * 2);
+            }
+            latencies[samples++] = System.nanoTime() - startedAt;
+        }
+        return new Result(Arrays.copyOf(latencies, samples), errors);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
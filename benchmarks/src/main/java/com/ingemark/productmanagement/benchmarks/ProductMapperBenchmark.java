@@ -0,0 +1,102 @@
+package com.ingemark.productmanagement.benchmarks;
+
+import com.ingemark.productmanagement.cache.CurrencyCacheService;
+import com.ingemark.productmanagement.cache.ExchangeRates;
+import com.ingemark.productmanagement.config.props.CurrencyCacheProps;
+import com.ingemark.productmanagement.controllers.responses.ProductResponse;
+import com.ingemark.productmanagement.controllers.responses.ProductsResponse;
+import com.ingemark.productmanagement.mappers.ProductMapper;
+import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
+import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
+import com.ingemark.productmanagement.models.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final List<String> currencies = List.of("GBP", "CHF");
+    private ProductMapper productMapper;
+    private Product product;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        var exchangeRates = ExchangeRates.of(Map.of(
+                ExchangeRates.USD, new BigDecimal("1.10"),
+                "GBP", new BigDecimal("0.85"),
+                "CHF", new BigDecimal("0.95")), Instant.now());
+        productMapper = new ProductMapper(new FixedCurrencyCacheService(exchangeRates));
+        page = new ArrayList<>(PAGE_SIZE);
+        for (var i = 0; i < PAGE_SIZE; i++) {
+            page.add(Product.builder()
+                    .ofId((long) i + 1)
+                    .ofCode("%010d".formatted(i))
+                    .ofName("Benchmark product " + i)
+                    .ofPriceEur(BigDecimal.valueOf(1999 + i * 137L, 2))
+                    .ofDescription("This is benchmark product " + i)
+                    .ofIsAvailable(i % 2 == 0)
+                    .build());
+        }
+        product = page.getFirst();
+    }
+
+    @Benchmark
+    public ProductResponse toProductResponse() {
+        return productMapper.toProductResponse(product);
+    }
+
+    @Benchmark
+    public ProductResponse toProductResponseWithCurrencies() {
+        return productMapper.toProductResponse(product, currencies);
+    }
+
+    @Benchmark
+    public ProductsResponse toProductsResponse() {
+        return productMapper.toProductsResponse(page);
+    }
+
+    @Benchmark
+    public BigDecimal convertToUsdPrice() {
+        return productMapper.convertToUsdPrice(product.getPriceEur());
+    }
+
+    @Benchmark
+    public CreatedProductEvent toCreatedProductEvent() {
+        return productMapper.toCreatedProductEvent(product);
+    }
+
+    @Benchmark
+    public UpdatedProductEvent toUpdatedProductEvent() {
+        return productMapper.toUpdatedProductEvent(product);
+    }
+
+    private static class FixedCurrencyCacheService extends CurrencyCacheService {
+
+        private final ExchangeRates exchangeRates;
+
+        FixedCurrencyCacheService(ExchangeRates exchangeRates) {
+            super(null, null, new CurrencyCacheProps(), new SimpleMeterRegistry());
+            this.exchangeRates = exchangeRates;
+        }
+
+        @Override
+        public ExchangeRates getExchangeRates() {
+            return exchangeRates;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+#!/bin/bash
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+  -v replication_user="$REPLICATION_USER" -v replication_password="$REPLICATION_PASSWORD" <<-'EOSQL'
+	SET password_encryption = 'scram-sha-256';
+	CREATE ROLE :"replication_user" WITH REPLICATION LOGIN PASSWORD :'replication_password';
+EOSQL
+
+echo "host replication $REPLICATION_USER $REPLICATION_SUBNET scram-sha-256" >> "$PGDATA/pg_hba.conf"
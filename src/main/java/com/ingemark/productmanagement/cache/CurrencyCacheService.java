@@ -1,36 +1,203 @@
 package com.ingemark.productmanagement.cache;
 
 import com.ingemark.productmanagement.client.HnbApiRestClient;
-import lombok.RequiredArgsConstructor;
+import com.ingemark.productmanagement.client.request.CurrencyExchangeRateRequest;
+import com.ingemark.productmanagement.config.props.CurrencyCacheProps;
+import com.ingemark.productmanagement.exceptions.NotFoundException;
+import com.ingemark.productmanagement.mappers.FixedPointPrices;
+import com.ingemark.productmanagement.models.ExchangeRate;
+import com.ingemark.productmanagement.repositories.ExchangeRateJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CurrencyCacheService {
 
+    private static final String CACHE_REQUESTS_METRIC = "product.currency.cache.requests";
+    private static final String CACHE_REFRESH_METRIC = "product.currency.cache.refresh";
+    private static final String RATES_AGE_METRIC = "product.currency.rates.age";
+
+    private static final Executor CALLER_THREAD = Runnable::run;
+    private static final Executor BACKGROUND_THREAD = runnable -> Thread.ofVirtual()
+            .name("currency-cache-refresh")
+            .start(runnable);
+
     private final HnbApiRestClient hnbApiRestClient;
 
-    private BigDecimal currencyUSD;
+    private final ExchangeRateJdbcRepository exchangeRateJdbcRepository;
+
+    private final CurrencyCacheProps currencyCacheProps;
+
+    private final AtomicReference<ExchangeRates> exchangeRates = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<ExchangeRates>> refreshInFlight = new AtomicReference<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter cacheHits;
+
+    private final Counter cacheStaleHits;
+
+    private final Counter cacheMisses;
+
+    public CurrencyCacheService(HnbApiRestClient hnbApiRestClient, ExchangeRateJdbcRepository exchangeRateJdbcRepository,
+                                CurrencyCacheProps currencyCacheProps, MeterRegistry meterRegistry) {
+        this.hnbApiRestClient = hnbApiRestClient;
+        this.exchangeRateJdbcRepository = exchangeRateJdbcRepository;
+        this.currencyCacheProps = currencyCacheProps;
+        this.meterRegistry = meterRegistry;
+        this.cacheHits = Counter.builder(CACHE_REQUESTS_METRIC).tag("result", "hit").register(meterRegistry);
+        this.cacheStaleHits = Counter.builder(CACHE_REQUESTS_METRIC).tag("result", "stale").register(meterRegistry);
+        this.cacheMisses = Counter.builder(CACHE_REQUESTS_METRIC).tag("result", "miss").register(meterRegistry);
+        TimeGauge.builder(RATES_AGE_METRIC, exchangeRates, TimeUnit.MILLISECONDS, this::ratesAgeMillis)
+                .description("Age of the exchange rates served from the cache")
+                .register(meterRegistry);
+    }
 
     public BigDecimal getCurrencyUSD() {
-        if (Objects.isNull(currencyUSD)) {
+        return getExchangeRates().rateOf(ExchangeRates.USD);
+    }
+
+    public ExchangeRates getExchangeRates() {
+        var currentExchangeRates = exchangeRates.get();
+        if (Objects.isNull(currentExchangeRates)) {
             log.info("Cache currency is empty!");
-            populateCurrencyUSD();
+            cacheMisses.increment();
+            return awaitRefresh();
+        }
+        if (currentExchangeRates.isOlderThan(currencyCacheProps.getRefreshAfter())) {
+            cacheStaleHits.increment();
+            refreshInBackground();
+            return currentExchangeRates;
         }
-        return currencyUSD;
+        cacheHits.increment();
+        return currentExchangeRates;
     }
 
     public void populateCurrencyUSD() {
-        log.info("Populating USD currency...");
-        currencyUSD = new BigDecimal(hnbApiRestClient.getUsdBuyingRateCurrency()
-                .replace(",", "."))
-                .setScale(2, RoundingMode.HALF_UP);
-        log.info("Cache populated with currency {}", currencyUSD);
+        awaitRefresh();
+    }
+
+    public boolean loadPersistedExchangeRates() {
+        var persistedRates = exchangeRateJdbcRepository.findAll();
+        var ratesByCurrency = persistedRates.stream()
+                .collect(Collectors.toMap(ExchangeRate::currency,
+                        exchangeRate -> exchangeRate.buyingRate().setScale(FixedPointPrices.RATE_SCALE, RoundingMode.HALF_UP)));
+        if (!ratesByCurrency.containsKey(ExchangeRates.USD)) {
+            log.info("No persisted USD exchange rate to load");
+            return false;
+        }
+        var fetchedAt = persistedRates.stream()
+                .map(ExchangeRate::fetchedAt)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        var persistedExchangeRates = ExchangeRates.of(ratesByCurrency, fetchedAt);
+        if (exchangeRates.compareAndSet(null, persistedExchangeRates)) {
+            log.info("Cache loaded with persisted currency {} fetched at {}",
+                    persistedExchangeRates.rateOf(ExchangeRates.USD), fetchedAt);
+        }
+        return true;
+    }
+
+    private ExchangeRates awaitRefresh() {
+        try {
+            return refresh(CALLER_THREAD).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void refreshInBackground() {
+        refresh(BACKGROUND_THREAD).whenComplete((refreshedExchangeRates, ex) -> {
+            if (Objects.nonNull(ex)) {
+                log.warn("Background refresh of exchange rates failed, serving stale exchange rates", ex);
+            }
+        });
+    }
+
+    private CompletableFuture<ExchangeRates> refresh(Executor executor) {
+        while (true) {
+            var inFlight = refreshInFlight.get();
+            if (Objects.nonNull(inFlight)) {
+                return inFlight;
+            }
+            var refresh = new CompletableFuture<ExchangeRates>();
+            if (refreshInFlight.compareAndSet(null, refresh)) {
+                executor.execute(() -> loadExchangeRates(refresh));
+                return refresh;
+            }
+        }
+    }
+
+    private void loadExchangeRates(CompletableFuture<ExchangeRates> refresh) {
+        var refreshSample = Timer.start(meterRegistry);
+        var outcome = "failure";
+        try {
+            log.info("Populating USD currency...");
+            var publishedRatesByCurrency = hnbApiRestClient.getBuyingRates()
+                    .stream()
+                    .collect(Collectors.toMap(CurrencyExchangeRateRequest::currency,
+                            c -> new BigDecimal(c.buyingRate().replace(",", ".")),
+                            (first, second) -> first));
+            if (!publishedRatesByCurrency.containsKey(ExchangeRates.USD)) {
+                throw new NotFoundException("Unable to get currency rate for USD");
+            }
+            var ratesByCurrency = publishedRatesByCurrency.entrySet()
+                    .stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey,
+                            entry -> entry.getValue().setScale(FixedPointPrices.RATE_SCALE, RoundingMode.HALF_UP)));
+            var refreshedExchangeRates = ExchangeRates.of(ratesByCurrency, Instant.now());
+            exchangeRates.set(refreshedExchangeRates);
+            persistExchangeRates(publishedRatesByCurrency, refreshedExchangeRates.fetchedAt());
+            log.info("Cache populated with currency {} and {} exchange rates",
+                    refreshedExchangeRates.rateOf(ExchangeRates.USD), ratesByCurrency.size());
+            outcome = "success";
+            refresh.complete(refreshedExchangeRates);
+        } catch (RuntimeException ex) {
+            refresh.completeExceptionally(ex);
+        } finally {
+            refreshSample.stop(Timer.builder(CACHE_REFRESH_METRIC)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            refreshInFlight.compareAndSet(refresh, null);
+        }
+    }
+
+    private void persistExchangeRates(Map<String, BigDecimal> ratesByCurrency, Instant fetchedAt) {
+        try {
+            exchangeRateJdbcRepository.replaceAll(ratesByCurrency, fetchedAt);
+        } catch (RuntimeException ex) {
+            log.warn("Could not persist exchange rates, cold starts will wait for HNB", ex);
+        }
+    }
+
+    private double ratesAgeMillis(AtomicReference<ExchangeRates> exchangeRatesReference) {
+        var currentExchangeRates = exchangeRatesReference.get();
+        if (Objects.isNull(currentExchangeRates)) {
+            return Double.NaN;
+        }
+        return Duration.between(currentExchangeRates.fetchedAt(), Instant.now()).toMillis();
     }
 }
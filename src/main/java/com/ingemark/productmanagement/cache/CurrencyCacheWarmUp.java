@@ -0,0 +1,34 @@
+package com.ingemark.productmanagement.cache;
+
+import com.ingemark.productmanagement.config.props.CurrencyCacheProps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurrencyCacheWarmUp implements ApplicationRunner {
+
+    private final CurrencyCacheService currencyCacheService;
+
+    private final CurrencyCacheProps currencyCacheProps;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!currencyCacheProps.isWarmUpOnStartup()) {
+            log.info("Currency cache warm up is disabled!");
+            return;
+        }
+        try {
+            if (currencyCacheService.loadPersistedExchangeRates()) {
+                return;
+            }
+            currencyCacheService.populateCurrencyUSD();
+        } catch (Exception ex) {
+            log.warn("Currency cache warm up failed, first request will fetch exchange rates from HNB", ex);
+        }
+    }
+}
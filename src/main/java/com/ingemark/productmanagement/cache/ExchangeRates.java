@@ -0,0 +1,91 @@
+package com.ingemark.productmanagement.cache;
+
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import com.ingemark.productmanagement.mappers.FixedPointPrices;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+public final class ExchangeRates {
+
+    public static final String EUR = "EUR";
+    public static final String USD = "USD";
+
+    private final Map<String, Integer> indexByCurrency;
+    private final String[] currencies;
+    private final BigDecimal[] rates;
+    private final long[] minorRates;
+    private final Instant fetchedAt;
+    private final long generation;
+
+    private ExchangeRates(Map<String, BigDecimal> ratesByCurrency, Instant fetchedAt) {
+        var sortedRates = new TreeMap<>(ratesByCurrency);
+        var indexes = new HashMap<String, Integer>();
+        this.currencies = new String[sortedRates.size()];
+        this.rates = new BigDecimal[sortedRates.size()];
+        this.minorRates = new long[sortedRates.size()];
+        var index = 0;
+        for (var entry : sortedRates.entrySet()) {
+            currencies[index] = entry.getKey();
+            rates[index] = entry.getValue();
+            minorRates[index] = FixedPointPrices.toMinorRate(entry.getValue());
+            indexes.put(entry.getKey(), index);
+            index++;
+        }
+        this.indexByCurrency = Map.copyOf(indexes);
+        this.fetchedAt = fetchedAt;
+        this.generation = 31 * Arrays.hashCode(currencies) + Arrays.hashCode(minorRates);
+    }
+
+    public static ExchangeRates of(Map<String, BigDecimal> ratesByCurrency, Instant fetchedAt) {
+        var rates = new HashMap<>(ratesByCurrency);
+        rates.put(EUR, BigDecimal.ONE.setScale(FixedPointPrices.RATE_SCALE));
+        return new ExchangeRates(rates, fetchedAt);
+    }
+
+    public int indexOf(String currency) {
+        var index = indexByCurrency.get(currency);
+        if (Objects.isNull(index)) {
+            throw new InvalidDataException("Currency %s is not supported".formatted(currency));
+        }
+        return index;
+    }
+
+    public boolean contains(String currency) {
+        return indexByCurrency.containsKey(currency);
+    }
+
+    public String currencyAt(int index) {
+        return currencies[index];
+    }
+
+    public BigDecimal rateAt(int index) {
+        return rates[index];
+    }
+
+    public long minorRateAt(int index) {
+        return minorRates[index];
+    }
+
+    public BigDecimal rateOf(String currency) {
+        return rates[indexOf(currency)];
+    }
+
+    public Instant fetchedAt() {
+        return fetchedAt;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public boolean isOlderThan(Duration maxAge) {
+        return fetchedAt.plus(maxAge).isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,90 @@
+package com.ingemark.productmanagement.cache;
+
+import com.ingemark.productmanagement.config.CacheConfig;
+import com.ingemark.productmanagement.config.props.ReplicaDataSourceProps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductCacheService {
+
+    private final CacheManager cacheManager;
+    private final ReplicaDataSourceProps replicaDataSourceProps;
+
+    public void evictProduct(Long id) {
+        evictProducts(List.of(id));
+    }
+
+    public void evictProducts(Collection<Long> ids) {
+        var evictedIds = List.copyOf(ids);
+        afterCommit(() -> evictNowAndAfterReplicaLag(() -> evictNow(evictedIds)));
+    }
+
+    public void evictAll() {
+        afterCommit(() -> evictNowAndAfterReplicaLag(this::clear));
+    }
+
+    public long getCount(String name, Supplier<Long> counter) {
+        var productCountsCache = cacheManager.getCache(CacheConfig.PRODUCT_COUNTS_CACHE);
+        if (Objects.isNull(productCountsCache)) {
+            return counter.get();
+        }
+        return productCountsCache.get(name, counter::get);
+    }
+
+    public void clear() {
+        var productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (Objects.nonNull(productsCache)) {
+            productsCache.clear();
+        }
+        var productCountsCache = cacheManager.getCache(CacheConfig.PRODUCT_COUNTS_CACHE);
+        if (Objects.nonNull(productCountsCache)) {
+            productCountsCache.clear();
+        }
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+            return;
+        }
+        eviction.run();
+    }
+
+    // a replica read that started before the commit can put the old row back after the first eviction,
+    // once max-lag has passed replicas that are still used for reads have the write
+    private void evictNowAndAfterReplicaLag(Runnable eviction) {
+        eviction.run();
+        if (Boolean.TRUE.equals(replicaDataSourceProps.getEnabled())) {
+            CompletableFuture.runAsync(eviction, CompletableFuture.delayedExecutor(
+                    replicaDataSourceProps.getMaxLag().toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void evictNow(Collection<Long> ids) {
+        var productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (Objects.isNull(productsCache)) {
+            return;
+        }
+        ids.forEach(productsCache::evict);
+        log.debug("Evicted products {} from cache", ids);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ingemark.productmanagement.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V> {
+
+    public static final String CALLS_METRIC = "product.singleflight.calls";
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder(CALLS_METRIC)
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(CALLS_METRIC)
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        var callFuture = new CompletableFuture<V>();
+        var inFlightFuture = inFlight.putIfAbsent(key, callFuture);
+        if (Objects.nonNull(inFlightFuture)) {
+            coalesced.increment();
+            return join(inFlightFuture);
+        }
+        executed.increment();
+        try {
+            var value = call.get();
+            callFuture.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            callFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, callFuture);
+        }
+    }
+
+    private V join(CompletableFuture<V> inFlightFuture) {
+        try {
+            return inFlightFuture.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
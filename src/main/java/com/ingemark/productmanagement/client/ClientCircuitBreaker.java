@@ -0,0 +1,55 @@
+package com.ingemark.productmanagement.client;
+
+import com.ingemark.productmanagement.enums.CircuitState;
+
+import java.time.Duration;
+
+public class ClientCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    public ClientCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        if (state == CircuitState.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            state = CircuitState.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = CircuitState.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized void onIgnoredFailure() {
+        if (state == CircuitState.HALF_OPEN) {
+            state = CircuitState.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+}
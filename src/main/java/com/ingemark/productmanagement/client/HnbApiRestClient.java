@@ -4,41 +4,157 @@ import com.ingemark.productmanagement.client.request.CurrencyExchangeRateRequest
 import com.ingemark.productmanagement.config.props.HnbApiClientProps;
 import com.ingemark.productmanagement.exceptions.NotFoundException;
 import com.ingemark.productmanagement.exceptions.PlatformException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class HnbApiRestClient {
 
+    static final String CIRCUIT_STATE_METRIC = "product.hnb.circuit.state";
+
     private final HnbApiClientProps hnbApiClientProps;
 
     private final RestClient restClient;
 
-    public String getUsdBuyingRateCurrency() {
-        return Stream.ofNullable(restClient
-                        .get()
-                        .uri(hnbApiClientProps.getCurrencyUsdUrl())
-                        .accept(MediaType.APPLICATION_JSON)
-                        .retrieve()
-                        .onStatus(HttpStatusCode::isError, ((request, response) -> {
-                            throw new PlatformException("Hnb api error",
-                                    new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
-                        }))
-                        .toEntity(CurrencyExchangeRateRequest[].class)
-                        .getBody())
-                .filter(Objects::nonNull)
+    private final ClientCircuitBreaker circuitBreaker;
+
+    private final AtomicReference<ConditionalResponse> lastResponse = new AtomicReference<>();
+
+    public HnbApiRestClient(HnbApiClientProps hnbApiClientProps, RestClient restClient, MeterRegistry meterRegistry) {
+        this.hnbApiClientProps = hnbApiClientProps;
+        this.restClient = restClient;
+        this.circuitBreaker = new ClientCircuitBreaker(hnbApiClientProps.getCircuitBreaker().getFailureThreshold(),
+                hnbApiClientProps.getCircuitBreaker().getOpenDuration());
+        Gauge.builder(CIRCUIT_STATE_METRIC, circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("HNB api circuit breaker state: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+    }
+
+    public List<CurrencyExchangeRateRequest> getBuyingRates() {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new PlatformException("Hnb api error", "circuit breaker is open");
+        }
+        List<CurrencyExchangeRateRequest> buyingRates;
+        try {
+            buyingRates = fetchWithRetries();
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException ex) {
+            if (isRetryable(ex)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onIgnoredFailure();
+            }
+            throw ex;
+        }
+        if (buyingRates.isEmpty()) {
+            throw new NotFoundException("Unable to get currency rates");
+        }
+        return buyingRates;
+    }
+
+    private List<CurrencyExchangeRateRequest> fetchWithRetries() {
+        var retry = hnbApiClientProps.getRetry();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return fetch();
+            } catch (RuntimeException ex) {
+                if (!isRetryable(ex) || attempt >= retry.getMaxAttempts()) {
+                    throw ex;
+                }
+                var backoff = jitteredBackoff(attempt, retry);
+                log.warn("Hnb api attempt {} failed, retrying in {} ms: {}", attempt, backoff.toMillis(), ex.getMessage());
+                sleep(backoff);
+            }
+        }
+    }
+
+    private List<CurrencyExchangeRateRequest> fetch() {
+        var previousResponse = lastResponse.get();
+        var response = restClient
+                .get()
+                .uri(hnbApiClientProps.getExchangeRatesUrl())
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (Objects.isNull(previousResponse)) {
+                        return;
+                    }
+                    if (Objects.nonNull(previousResponse.eTag())) {
+                        headers.setIfNoneMatch(previousResponse.eTag());
+                    }
+                    if (Objects.nonNull(previousResponse.lastModified())) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, previousResponse.lastModified());
+                    }
+                })
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ((request, errorResponse) -> {
+                    var body = new String(errorResponse.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                    var statusCode = errorResponse.getStatusCode();
+                    if (statusCode.is5xxServerError() || statusCode.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                        throw new RetryableHnbApiException(body);
+                    }
+                    throw new PlatformException("Hnb api error", body);
+                }))
+                .toEntity(CurrencyExchangeRateRequest[].class);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && Objects.nonNull(previousResponse)) {
+            log.info("Hnb exchange rates not modified since last fetch");
+            return previousResponse.buyingRates();
+        }
+        var buyingRates = Stream.ofNullable(response.getBody())
                 .flatMap(Stream::of)
-                .filter(c -> Objects.equals(c.state(), "SAD"))
-                .map(CurrencyExchangeRateRequest::currencyUSD)
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException("Unable to get currency rate for USD"));
+                .filter(Objects::nonNull)
+                .filter(c -> Objects.nonNull(c.currency()) && Objects.nonNull(c.buyingRate()))
+                .toList();
+        var eTag = response.getHeaders().getETag();
+        var lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        lastResponse.set(buyingRates.isEmpty() || (Objects.isNull(eTag) && Objects.isNull(lastModified)) ?
+                null :
+                new ConditionalResponse(eTag, lastModified, buyingRates));
+        return buyingRates;
+    }
+
+    private boolean isRetryable(RuntimeException ex) {
+        return ex instanceof ResourceAccessException || ex instanceof RetryableHnbApiException;
+    }
+
+    private Duration jitteredBackoff(int attempt, HnbApiClientProps.Retry retry) {
+        var exponentialBackoff = retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20);
+        var ceiling = Math.min(retry.getMaxBackoff().toMillis(), exponentialBackoff);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private void sleep(Duration backoff) {
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PlatformException("Hnb api error", "interrupted while waiting to retry");
+        }
+    }
+
+    private record ConditionalResponse(String eTag, String lastModified, List<CurrencyExchangeRateRequest> buyingRates) {
+    }
+
+    private static class RetryableHnbApiException extends PlatformException {
+
+        RetryableHnbApiException(String detailedMessage) {
+            super("Hnb api error", detailedMessage);
+        }
     }
 }
@@ -8,6 +8,8 @@ public record CurrencyExchangeRateRequest(
 
         @JsonProperty("drzava")
         String state,
+        @JsonProperty("valuta")
+        String currency,
         @JsonProperty("kupovni_tecaj")
-        String currencyUSD) {
+        String buyingRate) {
 }
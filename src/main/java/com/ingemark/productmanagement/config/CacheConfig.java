@@ -0,0 +1,37 @@
+package com.ingemark.productmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ingemark.productmanagement.config.props.ProductCacheProps;
+import com.ingemark.productmanagement.config.props.ProductCountCacheProps;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@Configuration
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCT_COUNTS_CACHE = "productCounts";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> productsCacheCustomizer(ProductCacheProps productCacheProps) {
+        return cacheManager -> cacheManager.registerCustomCache(PRODUCTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(productCacheProps.getMaximumSize())
+                .expireAfterWrite(productCacheProps.getExpireAfterWrite())
+                .recordStats()
+                .build());
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> productCountsCacheCustomizer(ProductCountCacheProps productCountCacheProps) {
+        return cacheManager -> cacheManager.registerCustomCache(PRODUCT_COUNTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(productCountCacheProps.getMaximumSize())
+                .expireAfterWrite(productCountCacheProps.getExpireAfterWrite())
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.ingemark.productmanagement.config;
+
+import com.ingemark.productmanagement.config.props.ConcurrencyLimitProps;
+import com.ingemark.productmanagement.limiter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "product-management.concurrency-limits", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    public static final String READ_LIMITER = "readConcurrencyLimiter";
+    public static final String WRITE_LIMITER = "writeConcurrencyLimiter";
+    public static final String BULK_LIMITER = "bulkConcurrencyLimiter";
+
+    @Bean(READ_LIMITER)
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter(ConcurrencyLimitProps concurrencyLimitProps,
+                                                             MeterRegistry meterRegistry) {
+        return toLimiter("read", concurrencyLimitProps.getReads(), concurrencyLimitProps, meterRegistry);
+    }
+
+    @Bean(WRITE_LIMITER)
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(ConcurrencyLimitProps concurrencyLimitProps,
+                                                              MeterRegistry meterRegistry) {
+        return toLimiter("write", concurrencyLimitProps.getWrites(), concurrencyLimitProps, meterRegistry);
+    }
+
+    @Bean(BULK_LIMITER)
+    public AdaptiveConcurrencyLimiter bulkConcurrencyLimiter(ConcurrencyLimitProps concurrencyLimitProps,
+                                                             MeterRegistry meterRegistry) {
+        return toLimiter("bulk", concurrencyLimitProps.getBulk(), concurrencyLimitProps, meterRegistry);
+    }
+
+    private AdaptiveConcurrencyLimiter toLimiter(String name, ConcurrencyLimitProps.Limit limit,
+                                                 ConcurrencyLimitProps concurrencyLimitProps, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(name, limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                concurrencyLimitProps.getBackoffRatio(), concurrencyLimitProps.getRttTolerance(), concurrencyLimitProps.getWindow(),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ingemark.productmanagement.config;
+
+import com.ingemark.productmanagement.config.props.KafkaProps;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer batchingProducerFactoryCustomizer(KafkaProps kafkaProps) {
+        var producer = kafkaProps.getProducer();
+        return producerFactory -> producerFactory.updateConfigs(Map.<String, Object>of(
+                ProducerConfig.LINGER_MS_CONFIG, (int) producer.getLinger().toMillis(),
+                ProducerConfig.BATCH_SIZE_CONFIG, producer.getBatchSize(),
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.getCompressionType(),
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+    }
+}
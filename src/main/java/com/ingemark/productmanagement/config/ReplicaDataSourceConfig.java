@@ -0,0 +1,59 @@
+package com.ingemark.productmanagement.config;
+
+import com.ingemark.productmanagement.config.props.ReplicaDataSourceProps;
+import com.ingemark.productmanagement.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+@Configuration
+@ConditionalOnProperty(prefix = "product-management.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaDataSourceProps replicaDataSourceProps,
+                                                             MeterRegistry meterRegistry) {
+        var replicaDataSources = new LinkedHashMap<String, DataSource>();
+        var urls = replicaDataSourceProps.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            var name = "replica-" + i;
+            var replicaDataSource = new HikariDataSource();
+            replicaDataSource.setPoolName(name);
+            replicaDataSource.setJdbcUrl(urls.get(i));
+            replicaDataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
+            replicaDataSource.setUsername(replicaDataSourceProps.getUsername());
+            replicaDataSource.setPassword(replicaDataSourceProps.getPassword());
+            replicaDataSource.setMaximumPoolSize(replicaDataSourceProps.getMaximumPoolSize());
+            replicaDataSource.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replicaDataSource.setReadOnly(true);
+            replicaDataSources.put(name, replicaDataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSources,
+                replicaDataSourceProps.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
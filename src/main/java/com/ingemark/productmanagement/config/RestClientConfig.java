@@ -1,14 +1,32 @@
 package com.ingemark.productmanagement.config;
 
+import com.ingemark.productmanagement.config.props.HnbApiClientProps;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class RestClientConfig {
 
     @Bean
-    public RestClient restClient(RestClient.Builder restClientBuilder){
-        return restClientBuilder.build();
+    public RestClient restClient(RestClient.Builder restClientBuilder, Environment environment,
+                                 HnbApiClientProps hnbApiClientProps){
+        var httpClientBuilder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(hnbApiClientProps.getConnectTimeout());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            httpClientBuilder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        var requestFactory = new JdkClientHttpRequestFactory(httpClientBuilder.build());
+        requestFactory.setReadTimeout(hnbApiClientProps.getReadTimeout());
+        return restClientBuilder
+                .requestFactory(requestFactory)
+                .build();
     }
 }
@@ -0,0 +1,49 @@
+package com.ingemark.productmanagement.config.props;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@Configuration
+@ConfigurationProperties(prefix = "product-management.concurrency-limits")
+public class ConcurrencyLimitProps {
+
+    private Boolean enabled;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private double backoffRatio = 0.9;
+
+    private double rttTolerance = 2.0;
+
+    private Duration window = Duration.ofSeconds(1);
+
+    private Limit reads = new Limit(50, 10, 400);
+
+    private Limit writes = new Limit(20, 5, 100);
+
+    private Limit bulk = new Limit(2, 1, 8);
+
+    @Getter
+    @Setter
+    @ToString
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+    }
+}
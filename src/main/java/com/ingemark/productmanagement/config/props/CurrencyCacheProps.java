@@ -0,0 +1,21 @@
+package com.ingemark.productmanagement.config.props;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ToString
+@Configuration
+@ConfigurationProperties(prefix = "product-management.caches.currency")
+public class CurrencyCacheProps {
+
+    private Duration refreshAfter = Duration.ofHours(1);
+
+    private boolean warmUpOnStartup = true;
+}
@@ -6,6 +6,8 @@ import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Setter
 @Getter
 @ToString
@@ -13,5 +15,35 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "product-management.clients.hnb-api")
 public class HnbApiClientProps {
 
-    private String currencyUsdUrl;
+    private String exchangeRatesUrl;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    private Retry retry = new Retry();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Setter
+    @Getter
+    @ToString
+    public static class Retry {
+
+        private int maxAttempts = 3;
+
+        private Duration initialBackoff = Duration.ofMillis(200);
+
+        private Duration maxBackoff = Duration.ofSeconds(2);
+    }
+
+    @Setter
+    @Getter
+    @ToString
+    public static class CircuitBreaker {
+
+        private int failureThreshold = 5;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
 }
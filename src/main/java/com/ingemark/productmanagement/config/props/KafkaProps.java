@@ -1,10 +1,13 @@
 package com.ingemark.productmanagement.config.props;
 
+import com.ingemark.productmanagement.enums.EventFormat;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Setter
 @Getter
 @Configuration
@@ -12,4 +15,19 @@ import org.springframework.context.annotation.Configuration;
 public class KafkaProps {
 
     private String productsTopic;
+
+    private Producer producer = new Producer();
+
+    @Setter
+    @Getter
+    public static class Producer {
+
+        private Duration linger = Duration.ofMillis(20);
+
+        private int batchSize = 64 * 1024;
+
+        private String compressionType = "lz4";
+
+        private EventFormat eventFormat = EventFormat.JSON;
+    }
 }
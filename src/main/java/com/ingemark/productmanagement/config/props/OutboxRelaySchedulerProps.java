@@ -0,0 +1,19 @@
+package com.ingemark.productmanagement.config.props;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ToString
+@Configuration
+@ConfigurationProperties(prefix = "product-management.schedulers.outbox-relay")
+public class OutboxRelaySchedulerProps {
+
+    private Boolean enabled;
+
+    private int batchSize = 500;
+}
@@ -0,0 +1,17 @@
+package com.ingemark.productmanagement.config.props;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ToString
+@Configuration
+@ConfigurationProperties(prefix = "product-management.exports.products")
+public class ProductExportProps {
+
+    private int fetchSize = 1000;
+}
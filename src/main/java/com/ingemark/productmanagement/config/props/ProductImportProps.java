@@ -0,0 +1,21 @@
+package com.ingemark.productmanagement.config.props;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ToString
+@Configuration
+@ConfigurationProperties(prefix = "product-management.imports.products")
+public class ProductImportProps {
+
+    private int copyBufferSize = 65_536;
+
+    private int maxReportedRejects = 1000;
+
+    private int outboxBatchSize = 1000;
+}
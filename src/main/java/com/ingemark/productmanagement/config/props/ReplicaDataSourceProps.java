@@ -0,0 +1,33 @@
+package com.ingemark.productmanagement.config.props;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString(exclude = "password")
+@Configuration
+@ConfigurationProperties(prefix = "product-management.datasource.replicas")
+public class ReplicaDataSourceProps {
+
+    private Boolean enabled;
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 20;
+
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -1,17 +1,44 @@
 package com.ingemark.productmanagement.controllers;
 
+import com.ingemark.productmanagement.cache.CurrencyCacheService;
+import com.ingemark.productmanagement.controllers.requests.ProductBatchRequest;
+import com.ingemark.productmanagement.controllers.requests.ProductBatchUpdateRequest;
+import com.ingemark.productmanagement.controllers.requests.ProductPatchRequest;
 import com.ingemark.productmanagement.controllers.requests.ProductRequest;
+import com.ingemark.productmanagement.controllers.responses.ProductImportResponse;
 import com.ingemark.productmanagement.controllers.responses.ProductResponse;
 import com.ingemark.productmanagement.controllers.responses.ProductsResponse;
+import com.ingemark.productmanagement.enums.ExportFormat;
+import com.ingemark.productmanagement.enums.ImportFormat;
+import com.ingemark.productmanagement.enums.TotalCount;
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import com.ingemark.productmanagement.mappers.CursorMapper;
+import com.ingemark.productmanagement.mappers.ETagMapper;
 import com.ingemark.productmanagement.mappers.ProductMapper;
+import com.ingemark.productmanagement.models.Product;
+import com.ingemark.productmanagement.services.ProductExportService;
+import com.ingemark.productmanagement.services.ProductImportService;
 import com.ingemark.productmanagement.services.ProductService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
@@ -20,8 +47,18 @@ public class ProductController {
 
     private final ProductService productService;
 
+    private final ProductExportService productExportService;
+
+    private final ProductImportService productImportService;
+
     private final ProductMapper productMapper;
 
+    private final CursorMapper cursorMapper;
+
+    private final ETagMapper eTagMapper;
+
+    private final CurrencyCacheService currencyCacheService;
+
     @GetMapping("/products")
     public ProductsResponse getAll(
             @RequestParam(required = false, defaultValue = "0")
@@ -30,19 +67,77 @@ public class ProductController {
             @RequestParam(required = false, defaultValue = "10")
             @Min(message = "attribute size must be greater than 1", value = 1)
             @Max(message = "attribute size must be below than 100", value = 100) int size,
-            @RequestParam(required = false) String name) {
-        log.info("Fetching all products for page {}, size {}, name {}...", page, size, name);
-        var products = productService.getAll(page, size, name);
-        var productsResponse = productMapper.toProductsResponse(products);
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false)
+            @Min(message = "attribute after must be positive number", value = 0) Long after,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> currency,
+            @RequestParam(required = false) String includeTotal,
+            WebRequest webRequest) {
+        log.info("Fetching all products for page {}, size {}, name {}, after {}, cursor {}, includeTotal {}...",
+                page, size, name, after, cursor, includeTotal);
+        if (Objects.nonNull(after) && Objects.nonNull(cursor)) {
+            throw new InvalidDataException("attributes after and cursor can not be used together");
+        }
+        var totalCount = Objects.isNull(includeTotal) ? null : TotalCount.fromValue(includeTotal);
+        var afterId = Objects.nonNull(cursor) ? cursorMapper.fromCursor(cursor) : after;
+        var products = Objects.isNull(afterId) ?
+                productService.getAll(page, size, name) :
+                productService.getAllAfter(afterId, size, name);
+        var nextCursor = cursorMapper.toNextCursor(products, size);
+        var productCount = Objects.isNull(totalCount) ? null : productService.count(totalCount, name);
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        if (webRequest.checkNotModified(eTagMapper.toETag(products, nextCursor, productCount, exchangeRates, currency))) {
+            log.info("Products not modified");
+            return null;
+        }
+        var productsResponse = productMapper.toProductsResponse(products, nextCursor, productCount, exchangeRates, currency);
         log.info("Fetched {} products", productsResponse.products().size());
         return productsResponse;
     }
 
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false, defaultValue = "ndjson") String format) {
+        var exportFormat = ExportFormat.fromValue(format);
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        log.info("Exporting all products as {}...", exportFormat);
+        StreamingResponseBody responseBody = outputStream -> {
+            var exported = productExportService.export(exportFormat, exchangeRates, outputStream);
+            log.info("Exported {} products as {}", exported, exportFormat);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(responseBody);
+    }
+
+    @PostMapping("/products/import")
+    public ProductImportResponse importProducts(@RequestParam(required = false, defaultValue = "ndjson") String format,
+                                                InputStream inputStream) {
+        var importFormat = ImportFormat.fromValue(format);
+        log.info("Importing products as {}...", importFormat);
+        var productImportResponse = productImportService.importProducts(importFormat, inputStream);
+        log.info("Imported {} products and rejected {} rows", productImportResponse.created() + productImportResponse.updated(),
+                productImportResponse.rejected());
+        return productImportResponse;
+    }
+
     @GetMapping("/products/{id}")
-    public ProductResponse getProductById(@PathVariable Long id) {
+    public ProductResponse getProductById(@PathVariable Long id,
+                                          @RequestParam(required = false) List<String> currency,
+                                          WebRequest webRequest) {
         log.info("Fetching product with id {}... ", id);
         var product = productService.getById(id);
-        var productResponse = productMapper.toProductResponse(product);
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        if (webRequest.checkNotModified(eTagMapper.toETag(product, exchangeRates, currency))) {
+            log.info("Product with id {} not modified", id);
+            return null;
+        }
+        var productResponse = productMapper.toProductResponse(product, exchangeRates, currency);
         log.info("Fetched product with id {}", id);
         return productResponse;
     }
@@ -57,15 +152,69 @@ public class ProductController {
         return productResponse;
     }
 
+    @PostMapping("/products/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ProductsResponse createProducts(@RequestBody @Valid ProductBatchRequest productBatchRequest) {
+        log.info("Creating batch of {} products...", productBatchRequest.products().size());
+        var products = productBatchRequest.products()
+                .stream()
+                .map(productMapper::toProduct)
+                .toList();
+        var productsResponse = productMapper.toProductsResponse(productService.createAll(products));
+        log.info("Created batch of {} products", productsResponse.products().size());
+        return productsResponse;
+    }
+
+    @PutMapping("/products/batch")
+    public ProductsResponse updateProducts(@RequestBody @Valid ProductBatchUpdateRequest productBatchUpdateRequest) {
+        log.info("Updating batch of {} products...", productBatchUpdateRequest.products().size());
+        var products = productBatchUpdateRequest.products()
+                .stream()
+                .map(productMapper::toProduct)
+                .toList();
+        var productsResponse = productMapper.toProductsResponse(productService.updateAll(products));
+        log.info("Updated batch of {} products", productsResponse.products().size());
+        return productsResponse;
+    }
+
     @PutMapping("/products/{id}")
-    public ProductResponse updateProduct(@RequestBody @Valid ProductRequest productRequest, @PathVariable Long id) {
+    public ResponseEntity<ProductResponse> updateProduct(@RequestBody @Valid ProductRequest productRequest,
+                                                         @PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating product with id {}...", id);
         var product = productMapper.toProduct(productRequest);
-        var productResponse = productMapper.toProductResponse(productService.update(product, id));
-        log.info("Updated product with id {}", id);
+        var updatedProduct = productService.update(product, id, eTagMapper.toVersion(ifMatch));
+        var productResponse = toVersionedResponse(updatedProduct);
+        log.info("Updated product with id {} to version {}", id, updatedProduct.getVersion());
+        return productResponse;
+    }
+
+    @PatchMapping("/products/{id}")
+    public ResponseEntity<ProductResponse> patchProduct(@RequestBody @Valid ProductPatchRequest productPatchRequest,
+                                                        @PathVariable Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Patching product with id {}...", id);
+        if (Stream.of(productPatchRequest.code(), productPatchRequest.name(), productPatchRequest.priceEur(),
+                productPatchRequest.description(), productPatchRequest.isAvailable()).allMatch(Objects::isNull)) {
+            throw new InvalidDataException("at least one attribute must be patched");
+        }
+        var product = productMapper.toProduct(productPatchRequest);
+        var patchedProduct = productService.patch(product, id, eTagMapper.toVersion(ifMatch));
+        var productResponse = toVersionedResponse(patchedProduct);
+        log.info("Patched product with id {} to version {}", id, patchedProduct.getVersion());
         return productResponse;
     }
 
+    @DeleteMapping("/products")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteProducts(@RequestParam(required = false)
+                               @NotEmpty(message = "attribute ids must not be empty")
+                               @Size(message = "attribute ids must have at most 1000 values", max = 1000) List<Long> ids) {
+        log.info("Removing {} products...", ids.size());
+        var deletedIds = productService.removeProducts(ids);
+        log.info("Removed {} products", deletedIds.size());
+    }
+
     @DeleteMapping("/products/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteProductById(@PathVariable Long id) {
@@ -73,4 +222,11 @@ public class ProductController {
         productService.removeProduct(id);
         log.info("Removed product with id {}", id);
     }
+
+    private ResponseEntity<ProductResponse> toVersionedResponse(Product product) {
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        return ResponseEntity.ok()
+                .eTag(eTagMapper.toETag(product, exchangeRates, null))
+                .body(productMapper.toProductResponse(product, exchangeRates, null));
+    }
 }
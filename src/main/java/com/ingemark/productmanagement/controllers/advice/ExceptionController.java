@@ -3,8 +3,10 @@ package com.ingemark.productmanagement.controllers.advice;
 import com.ingemark.productmanagement.exceptions.InvalidDataException;
 import com.ingemark.productmanagement.exceptions.NotFoundException;
 import com.ingemark.productmanagement.exceptions.PlatformException;
+import com.ingemark.productmanagement.exceptions.PreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.util.ObjectUtils;
@@ -53,6 +55,18 @@ public class ExceptionController {
         return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.info("Precondition failed exception : {}", ex.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.info("Optimistic locking failure exception : {}", ex.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Product was modified concurrently");
+    }
+
     @ExceptionHandler(PlatformException.class)
     public ProblemDetail handlePlatformException(PlatformException ex) {
         log.error("Platform exception error: ", ex);
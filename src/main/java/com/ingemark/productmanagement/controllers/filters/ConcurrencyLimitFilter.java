@@ -0,0 +1,148 @@
+package com.ingemark.productmanagement.controllers.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingemark.productmanagement.config.ConcurrencyLimitConfig;
+import com.ingemark.productmanagement.config.props.ConcurrencyLimitProps;
+import com.ingemark.productmanagement.limiter.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "product-management.concurrency-limits", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String PRODUCTS_PATH = "/products";
+    private static final Set<String> BULK_PATHS = Set.of("/products/import", "/products/export", "/products/batch");
+
+    private final AdaptiveConcurrencyLimiter readConcurrencyLimiter;
+    private final AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+    private final AdaptiveConcurrencyLimiter bulkConcurrencyLimiter;
+    private final ConcurrencyLimitProps concurrencyLimitProps;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(@Qualifier(ConcurrencyLimitConfig.READ_LIMITER) AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+                                  @Qualifier(ConcurrencyLimitConfig.WRITE_LIMITER) AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+                                  @Qualifier(ConcurrencyLimitConfig.BULK_LIMITER) AdaptiveConcurrencyLimiter bulkConcurrencyLimiter,
+                                  ConcurrencyLimitProps concurrencyLimitProps,
+                                  ObjectMapper objectMapper) {
+        this.readConcurrencyLimiter = readConcurrencyLimiter;
+        this.writeConcurrencyLimiter = writeConcurrencyLimiter;
+        this.bulkConcurrencyLimiter = bulkConcurrencyLimiter;
+        this.concurrencyLimitProps = concurrencyLimitProps;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PRODUCTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var limiter = toLimiter(request);
+        var permit = limiter.tryAcquire();
+        if (permit.isEmpty()) {
+            log.warn("Rejected {} {} over concurrency limit {}", request.getMethod(), request.getRequestURI(), limiter.getLimit());
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            permit.get().onDropped();
+            throw ex;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit.get(), response));
+        } else {
+            release(permit.get(), response);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter toLimiter(HttpServletRequest request) {
+        if (BULK_PATHS.contains(request.getRequestURI())
+                || (HttpMethod.DELETE.matches(request.getMethod()) && PRODUCTS_PATH.equals(request.getRequestURI()))) {
+            return bulkConcurrencyLimiter;
+        }
+        var isRead = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        return isRead ? readConcurrencyLimiter : writeConcurrencyLimiter;
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+        if (response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service is over its concurrency limit, retry later");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, concurrencyLimitProps.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    private static class PermitReleasingListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+            this.permit = permit;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                release(permit, response);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                permit.onDropped();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                permit.onDropped();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ingemark.productmanagement.controllers.filters;
+
+import com.ingemark.productmanagement.config.props.ReplicaDataSourceProps;
+import com.ingemark.productmanagement.datasource.ReplicaRoutingContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-management.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "PM_LAST_WRITE";
+
+    private static final Set<String> WRITE_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final ReplicaDataSourceProps replicaDataSourceProps;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var window = replicaDataSourceProps.getReadYourWritesWindow();
+        if (window.isZero() || window.isNegative()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            var lastWriteCookie = ResponseCookie.from(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()))
+                    .path("/")
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, lastWriteCookie.toString());
+        } else if (isWithinWindow(WebUtils.getCookie(request, LAST_WRITE_COOKIE), window.toMillis())) {
+            ReplicaRoutingContext.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean isWithinWindow(Cookie lastWriteCookie, long windowMillis) {
+        if (Objects.isNull(lastWriteCookie)) {
+            return false;
+        }
+        try {
+            return System.currentTimeMillis() - Long.parseLong(lastWriteCookie.getValue()) <= windowMillis;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ingemark.productmanagement.controllers.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder(setterPrefix = "of")
+public record ProductBatchRequest(@NotEmpty() @Size(max = 1000, message = "Batch must contain at most 1000 products")
+                                  List<@Valid ProductRequest> products) {
+}
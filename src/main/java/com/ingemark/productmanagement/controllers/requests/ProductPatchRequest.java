@@ -0,0 +1,16 @@
+package com.ingemark.productmanagement.controllers.requests;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder(setterPrefix = "of")
+public record ProductPatchRequest(@Size(min = 10, max = 10, message = "Property must be exactly 10 characters") String code,
+                                  @Pattern(regexp = ".*\\S.*", message = "must not be blank") String name,
+                                  @Min(0) BigDecimal priceEur,
+                                  String description,
+                                  Boolean isAvailable) {
+}
@@ -0,0 +1,20 @@
+package com.ingemark.productmanagement.controllers.responses;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder(setterPrefix = "of")
+public record ProductImportResponse(long rows,
+                                    long created,
+                                    long updated,
+                                    long unchanged,
+                                    long superseded,
+                                    long rejected,
+                                    List<Reject> rejects,
+                                    long durationMillis,
+                                    long rowsPerSecond) {
+    @Builder(setterPrefix = "of")
+    public record Reject(long line, String reason) {
+    }
+}
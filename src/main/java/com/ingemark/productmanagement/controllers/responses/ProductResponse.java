@@ -1,8 +1,10 @@
 package com.ingemark.productmanagement.controllers.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Builder(setterPrefix = "of")
 public record ProductResponse(Long id,
@@ -10,6 +12,8 @@ public record ProductResponse(Long id,
                               String name,
                               BigDecimal priceEur,
                               BigDecimal priceUsd,
+                              @JsonInclude(JsonInclude.Include.NON_EMPTY)
+                              Map<String, BigDecimal> prices,
                               String description,
                               boolean isAvailable) {
 }
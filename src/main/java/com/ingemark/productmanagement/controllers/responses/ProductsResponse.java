@@ -4,5 +4,8 @@ import lombok.Builder;
 
 import java.util.List;
 @Builder(setterPrefix = "of")
-public record ProductsResponse(List<ProductResponse> products) {
+public record ProductsResponse(List<ProductResponse> products,
+                               String nextCursor,
+                               Long total,
+                               Boolean totalEstimated) {
 }
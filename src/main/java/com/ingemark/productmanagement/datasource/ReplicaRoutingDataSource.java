@@ -0,0 +1,120 @@
+package com.ingemark.productmanagement.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+    public static final String ROUTING_METRIC = "product.datasource.routing";
+    public static final String REPLICA_LAG_METRIC = "product.datasource.replica.lag";
+
+    private static final long UNAVAILABLE = -1;
+
+    private static final String REPLICA_LAG = """
+            select case
+                       when not pg_is_in_recovery() then 0
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end::bigint
+            """;
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = replicaDataSources.entrySet()
+                .stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue(),
+                        new JdbcTemplate(replica.getValue()), new AtomicLong(UNAVAILABLE)))
+                .toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.meterRegistry = meterRegistry;
+        var targetDataSources = new HashMap<Object, Object>(replicaDataSources);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        replicas.forEach(replica -> Gauge.builder(REPLICA_LAG_METRIC, replica.lagMillis(), AtomicLong::get)
+                .tag("replica", replica.name())
+                .baseUnit("milliseconds")
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        refreshReplicaLag();
+    }
+
+    public void refreshReplicaLag() {
+        for (var replica : replicas) {
+            try {
+                replica.lagMillis().set(replica.jdbcTemplate().queryForObject(REPLICA_LAG, Long.class));
+            } catch (Exception ex) {
+                log.warn("Could not check lag of {}: {}", replica.name(), ex.getMessage());
+                replica.lagMillis().set(UNAVAILABLE);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(PRIMARY, "read-write");
+        }
+        if (ReplicaRoutingContext.isPrimaryRequired()) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        var availableReplicas = replicas.stream()
+                .filter(this::isAvailable)
+                .toList();
+        if (availableReplicas.isEmpty()) {
+            return route(PRIMARY, "replica-lag");
+        }
+        var replica = availableReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), availableReplicas.size()));
+        return route(replica.name(), "read-only");
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (var replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean isAvailable(Replica replica) {
+        var lagMillis = replica.lagMillis().get();
+        return lagMillis != UNAVAILABLE && lagMillis <= maxLagMillis;
+    }
+
+    private String route(String target, String reason) {
+        Counter.builder(ROUTING_METRIC)
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return target;
+    }
+
+    private record Replica(String name, DataSource dataSource, JdbcTemplate jdbcTemplate, AtomicLong lagMillis) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.ingemark.productmanagement.enums;
+
+public enum CircuitState {
+    CLOSED, OPEN, HALF_OPEN
+}
@@ -0,0 +1,24 @@
+package com.ingemark.productmanagement.enums;
+
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv;charset=UTF-8");
+
+    private final String extension;
+    private final String mediaType;
+
+    public static ExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(exportFormat -> exportFormat.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidDataException("Export format %s is not supported".formatted(value)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.ingemark.productmanagement.enums;
+
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportFormat {
+    NDJSON("ndjson"),
+    CSV("csv");
+
+    private final String extension;
+
+    public static ImportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(importFormat -> importFormat.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidDataException("Import format %s is not supported".formatted(value)));
+    }
+}
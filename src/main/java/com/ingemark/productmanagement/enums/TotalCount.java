@@ -0,0 +1,23 @@
+package com.ingemark.productmanagement.enums;
+
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum TotalCount {
+    EXACT("exact"),
+    ESTIMATE("estimate");
+
+    private final String value;
+
+    public static TotalCount fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(totalCount -> totalCount.value.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidDataException("Total count %s is not supported".formatted(value)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.ingemark.productmanagement.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class AdaptiveConcurrencyLimiter {
+
+    public static final String LIMIT_METRIC = "product.concurrency.limit";
+    public static final String IN_FLIGHT_METRIC = "product.concurrency.inflight";
+    public static final String REJECTED_METRIC = "product.concurrency.rejected";
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final int LONG_RTT_WINDOWS = 60;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double rttTolerance;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private final ReentrantLock windowLock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile long windowStartNanos;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      double rttTolerance, Duration window, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.rttTolerance = rttTolerance;
+        this.windowNanos = window.toNanos();
+        this.windowStartNanos = System.nanoTime();
+        this.estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+        Gauge.builder(LIMIT_METRIC, this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("kind", name)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .tag("kind", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .tag("kind", name)
+                .register(meterRegistry);
+    }
+
+    public Optional<Permit> tryAcquire() {
+        var current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new Permit(System.nanoTime(), current));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void onSample(long rttNanos, int inFlightAtStart, boolean dropped, long nowNanos) {
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        windowMaxInFlight.accumulateAndGet(inFlightAtStart, Math::max);
+        if (dropped) {
+            windowDropped.set(true);
+        }
+        if (!isWindowComplete(nowNanos) || !windowLock.tryLock()) {
+            return;
+        }
+        try {
+            if (isWindowComplete(nowNanos)) {
+                closeWindow(nowNanos);
+            }
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private boolean isWindowComplete(long nowNanos) {
+        return nowNanos - windowStartNanos >= windowNanos && windowSamples.sum() >= MIN_WINDOW_SAMPLES;
+    }
+
+    // Gradient over windows: the average RTT of the window is compared with a slowly moving long term average,
+    // so a mix of fast and slow endpoints does not look like rising latency and single slow requests do not back off
+    private void closeWindow(long nowNanos) {
+        windowStartNanos = nowNanos;
+        var samples = windowSamples.sumThenReset();
+        var shortRttNanos = (double) windowRttNanos.sumThenReset() / samples;
+        var maxInFlight = windowMaxInFlight.getAndSet(0);
+        var dropped = windowDropped.getAndSet(false);
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) / LONG_RTT_WINDOWS;
+        }
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos *= 0.95;
+        }
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+        } else if (maxInFlight * 2 >= estimatedLimit) {
+            var gradient = Math.clamp(rttTolerance * longRttNanos / shortRttNanos, MIN_GRADIENT, 1.0);
+            var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.clamp(estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING,
+                    minLimit, maxLimit);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    public class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void onSuccess() {
+            release(false);
+        }
+
+        public void onDropped() {
+            release(true);
+        }
+
+        public void onIgnore() {
+            inFlight.decrementAndGet();
+        }
+
+        private void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            var nowNanos = System.nanoTime();
+            onSample(nowNanos - startNanos, inFlightAtStart, dropped, nowNanos);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ingemark.productmanagement.mappers;
+
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import com.ingemark.productmanagement.models.Product;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class CursorMapper {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    public String toNextCursor(List<Product> products, int size) {
+        if (products.isEmpty() || products.size() < size) {
+            return null;
+        }
+        return toCursor(products.getLast().getId());
+    }
+
+    public String toCursor(Long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long fromCursor(String cursor) {
+        if (Objects.isNull(cursor)) {
+            return null;
+        }
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidDataException("attribute cursor is invalid");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidDataException("attribute cursor is invalid");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ingemark.productmanagement.mappers;
+
+import com.ingemark.productmanagement.cache.ExchangeRates;
+import com.ingemark.productmanagement.exceptions.PreconditionFailedException;
+import com.ingemark.productmanagement.models.Product;
+import com.ingemark.productmanagement.models.ProductCount;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+@Component
+public class ETagMapper {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final Pattern PRODUCT_ETAG = Pattern.compile("\"(\\d{1,18})-[0-9a-f]{16}\"");
+
+    public String toETag(Product product, ExchangeRates exchangeRates, List<String> currencies) {
+        var hash = hashResponseContext(FNV_OFFSET_BASIS, exchangeRates, currencies);
+        return "\"%d-%016x\"".formatted(product.getVersion(), hash);
+    }
+
+    public String toETag(List<Product> products, String nextCursor, ProductCount productCount,
+                         ExchangeRates exchangeRates, List<String> currencies) {
+        var hash = FNV_OFFSET_BASIS;
+        for (var product : products) {
+            hash = hash(hash, Objects.toString(product.getId()));
+            hash = hash(hash, Objects.toString(product.getVersion(), null));
+        }
+        hash = hash(hash, nextCursor);
+        hash = hash(hash, Objects.toString(productCount, null));
+        return "\"%016x\"".formatted(hashResponseContext(hash, exchangeRates, currencies));
+    }
+
+    public Long toVersion(String ifMatch) {
+        if (Objects.isNull(ifMatch) || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        var matcher = PRODUCT_ETAG.matcher(ifMatch.strip());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match header %s does not match a product version".formatted(ifMatch));
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private long hashResponseContext(long hash, ExchangeRates exchangeRates, List<String> currencies) {
+        hash = hash(hash, Long.toString(exchangeRates.generation()));
+        return hash(hash, Objects.toString(currencies, null));
+    }
+
+    private long hash(long hash, String value) {
+        if (Objects.isNull(value)) {
+            return (hash ^ 0xff) * FNV_PRIME;
+        }
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return (hash ^ 0xfe) * FNV_PRIME;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ingemark.productmanagement.mappers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class FixedPointPrices {
+
+    public static final int PRICE_SCALE = 2;
+    public static final int RATE_SCALE = 6;
+
+    private static final long PRICE_MINOR_UNITS = 100L;
+    private static final long RATE_MINOR_UNITS = 1_000_000L;
+    // HNB publishes rates with 6 decimals, so at most 7 integer digits (< 10^9 minor units)
+    // times a rate below 1000 (< 10^9 minor units) fits in a long
+    private static final int MAX_FAST_PRICE_INTEGER_DIGITS = 7;
+    private static final long MAX_FAST_MINOR_RATE = 1_000_000_000L;
+
+    private FixedPointPrices() {
+    }
+
+    public static long toMinorRate(BigDecimal rate) {
+        return rate.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal convert(BigDecimal price, long minorRate) {
+        if (price.scale() < 0 || price.scale() > PRICE_SCALE
+                || price.precision() - price.scale() > MAX_FAST_PRICE_INTEGER_DIGITS
+                || minorRate < 0 || minorRate >= MAX_FAST_MINOR_RATE) {
+            return price.multiply(BigDecimal.valueOf(minorRate, RATE_SCALE))
+                    .setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+        }
+        var priceMinorUnits = toMinorUnits(price);
+        return BigDecimal.valueOf(roundHalfUp(priceMinorUnits * minorRate, RATE_MINOR_UNITS), PRICE_SCALE);
+    }
+
+    // For compact values of this size BigDecimal.doubleValue() takes an allocation free fast path
+    // and the exact value is recovered by rounding to minor units.
+    private static long toMinorUnits(BigDecimal price) {
+        return Math.round(price.doubleValue() * PRICE_MINOR_UNITS);
+    }
+
+    private static long roundHalfUp(long value, long divisor) {
+        var half = divisor / 2;
+        return value >= 0 ? (value + half) / divisor : -((-value + half) / divisor);
+    }
+}
@@ -1,7 +1,10 @@
 package com.ingemark.productmanagement.mappers;
 
 import com.ingemark.productmanagement.cache.CurrencyCacheService;
+import com.ingemark.productmanagement.cache.ExchangeRates;
+import com.ingemark.productmanagement.controllers.requests.ProductPatchRequest;
 import com.ingemark.productmanagement.controllers.requests.ProductRequest;
+import com.ingemark.productmanagement.controllers.requests.ProductUpdateRequest;
 import com.ingemark.productmanagement.controllers.responses.ProductResponse;
 import com.ingemark.productmanagement.controllers.responses.ProductsResponse;
 import com.ingemark.productmanagement.enums.Action;
@@ -9,16 +12,22 @@ import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
 import com.ingemark.productmanagement.messaging.outbound.DeletedProductEvent;
 import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
 import com.ingemark.productmanagement.models.Product;
+import com.ingemark.productmanagement.models.ProductCount;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -36,31 +45,114 @@ public class ProductMapper {
                 .build();
     }
 
-    public ProductResponse toProductResponse(Product product) {
-        return ProductResponse.builder()
-                .ofId(product.getId())
-                .ofCode(product.getCode())
-                .ofName(product.getName())
-                .ofPriceEur(product.getPriceEur())
-                .ofPriceUsd(convertToUsdPrice(product.getPriceEur()))
-                .ofDescription(product.getDescription())
-                .ofIsAvailable(product.getIsAvailable())
+    public Product toProduct(ProductUpdateRequest productUpdateRequest) {
+        return Product.builder()
+                .ofId(productUpdateRequest.id())
+                .ofCode(productUpdateRequest.code())
+                .ofName(productUpdateRequest.name())
+                .ofPriceEur(productUpdateRequest.priceEur())
+                .ofDescription(productUpdateRequest.description())
+                .ofIsAvailable(productUpdateRequest.isAvailable())
+                .build();
+    }
+
+    public Product toProduct(ProductPatchRequest productPatchRequest) {
+        return Product.builder()
+                .ofCode(productPatchRequest.code())
+                .ofName(productPatchRequest.name())
+                .ofPriceEur(productPatchRequest.priceEur())
+                .ofDescription(productPatchRequest.description())
+                .ofIsAvailable(productPatchRequest.isAvailable())
                 .build();
     }
 
+    public ProductResponse toProductResponse(Product product) {
+        return toProductResponse(product, List.of());
+    }
+
+    public ProductResponse toProductResponse(Product product, List<String> currencies) {
+        return toProductResponse(product, currencyCacheService.getExchangeRates(), currencies);
+    }
+
+    public ProductResponse toProductResponse(Product product, ExchangeRates exchangeRates, List<String> currencies) {
+        return toProductResponse(product, toPriceConversion(exchangeRates, currencies));
+    }
+
     public ProductsResponse toProductsResponse(List<Product> products) {
+        return toProductsResponse(products, null);
+    }
+
+    public ProductsResponse toProductsResponse(List<Product> products, String nextCursor) {
+        return toProductsResponse(products, nextCursor, List.of());
+    }
+
+    public ProductsResponse toProductsResponse(List<Product> products, String nextCursor, List<String> currencies) {
+        return toProductsResponse(products, nextCursor, currencyCacheService.getExchangeRates(), currencies);
+    }
+
+    public ProductsResponse toProductsResponse(List<Product> products, String nextCursor,
+                                               ExchangeRates exchangeRates, List<String> currencies) {
+        return toProductsResponse(products, nextCursor, null, exchangeRates, currencies);
+    }
+
+    public ProductsResponse toProductsResponse(List<Product> products, String nextCursor, ProductCount productCount,
+                                               ExchangeRates exchangeRates, List<String> currencies) {
+        var priceConversion = toPriceConversion(exchangeRates, currencies);
         var productResponseList = products
                 .stream()
-                .map(this::toProductResponse)
+                .map(product -> toProductResponse(product, priceConversion))
                 .toList();
         return ProductsResponse.builder()
                 .ofProducts(productResponseList)
+                .ofNextCursor(nextCursor)
+                .ofTotal(Objects.isNull(productCount) ? null : productCount.total())
+                .ofTotalEstimated(Objects.isNull(productCount) ? null : productCount.estimated())
                 .build();
     }
 
     public BigDecimal convertToUsdPrice(BigDecimal priceEur) {
-        return priceEur.multiply(currencyCacheService.getCurrencyUSD())
-                .setScale(2, RoundingMode.HALF_UP);
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        return FixedPointPrices.convert(priceEur, exchangeRates.minorRateAt(exchangeRates.indexOf(ExchangeRates.USD)));
+    }
+
+    private ProductResponse toProductResponse(Product product, PriceConversion priceConversion) {
+        var exchangeRates = priceConversion.exchangeRates();
+        return ProductResponse.builder()
+                .ofId(product.getId())
+                .ofCode(product.getCode())
+                .ofName(product.getName())
+                .ofPriceEur(product.getPriceEur())
+                .ofPriceUsd(FixedPointPrices.convert(product.getPriceEur(), exchangeRates.minorRateAt(priceConversion.usdIndex())))
+                .ofPrices(toPrices(product.getPriceEur(), priceConversion))
+                .ofDescription(product.getDescription())
+                .ofIsAvailable(product.getIsAvailable())
+                .build();
+    }
+
+    private Map<String, BigDecimal> toPrices(BigDecimal priceEur, PriceConversion priceConversion) {
+        var currencyIndexes = priceConversion.currencyIndexes();
+        if (currencyIndexes.length == 0) {
+            return Map.of();
+        }
+        var exchangeRates = priceConversion.exchangeRates();
+        var prices = LinkedHashMap.<String, BigDecimal>newLinkedHashMap(currencyIndexes.length);
+        for (var currencyIndex : currencyIndexes) {
+            prices.put(exchangeRates.currencyAt(currencyIndex),
+                    FixedPointPrices.convert(priceEur, exchangeRates.minorRateAt(currencyIndex)));
+        }
+        return prices;
+    }
+
+    private PriceConversion toPriceConversion(ExchangeRates exchangeRates, List<String> currencies) {
+        var currencyIndexes = Stream.ofNullable(currencies)
+                .flatMap(List::stream)
+                .map(String::trim)
+                .filter(Predicate.not(String::isEmpty))
+                .map(currency -> currency.toUpperCase(Locale.ROOT))
+                .distinct()
+                .mapToInt(exchangeRates::indexOf)
+                .toArray();
+        return new PriceConversion(exchangeRates, exchangeRates.indexOf(ExchangeRates.USD), currencyIndexes);
     }
 
     public CreatedProductEvent toCreatedProductEvent(Product product) {
@@ -76,6 +168,7 @@ public class ProductMapper {
                         .ofPriceEur(product.getPriceEur())
                         .ofDescription(product.getDescription())
                         .ofIsAvailable(product.getIsAvailable())
+                        .ofVersion(product.getVersion())
                         .build())
                 .build();
     }
@@ -93,6 +186,7 @@ public class ProductMapper {
                         .ofPriceEur(product.getPriceEur())
                         .ofDescription(product.getDescription())
                         .ofIsAvailable(product.getIsAvailable())
+                        .ofVersion(product.getVersion())
                         .build())
                 .build();
     }
@@ -109,8 +203,10 @@ public class ProductMapper {
                 .build();
     }
 
+    private record PriceConversion(ExchangeRates exchangeRates, int usdIndex, int[] currencyIndexes) {
+    }
+
     private ZonedDateTime getUTCZonedDateTimeNow() {
-        return ZonedDateTime.parse(ZonedDateTime.now(ZoneOffset.UTC)
-                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")));
+        return ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
     }
 }
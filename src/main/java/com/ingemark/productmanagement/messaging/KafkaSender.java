@@ -1,53 +1,62 @@
 package com.ingemark.productmanagement.messaging;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ingemark.productmanagement.config.props.KafkaProps;
-import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
-import com.ingemark.productmanagement.messaging.outbound.DeletedProductEvent;
-import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class KafkaSender {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final KafkaProps kafkaProps;
-    private final ObjectMapper objectMapper;
-
-    public void sendProductCreatedEvent(CreatedProductEvent createdProductEvent) {
-        log.info("Sending product created event...");
-        var id = createdProductEvent.product().id().toString();
-        sendEvent(kafkaProps.getProductsTopic(), id, createdProductEvent);
-        log.info("Product created event sent");
-    }
-
-    public void sendProductUpdatedEvent(UpdatedProductEvent updatedProductEvent) {
-        log.info("Sending product updated event...");
-        var id = updatedProductEvent.product().id().toString();
-        sendEvent(kafkaProps.getProductsTopic(), id, updatedProductEvent);
-        log.info("Product updated event sent");
-
-    }
+    private static final String SEND_METRIC = "product.events.send";
 
-    public void sendProductDeletedEvent(DeletedProductEvent deletedProductEvent) {
-        log.info("Sending product deleted event...");
-        var id = deletedProductEvent.product().id().toString();
-        sendEvent(kafkaProps.getProductsTopic(), id, deletedProductEvent);
-        log.info("Product deleted event sent");
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaProps kafkaProps;
+    private final Timer sendSuccesses;
+    private final Timer sendFailures;
+
+    public KafkaSender(KafkaTemplate<String, byte[]> kafkaTemplate, KafkaProps kafkaProps, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaProps = kafkaProps;
+        this.sendSuccesses = Timer.builder(SEND_METRIC)
+                .description("Time until a product event is acknowledged by the broker")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.sendFailures = Timer.builder(SEND_METRIC)
+                .description("Time until a product event is acknowledged by the broker")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
     }
 
-    private void sendEvent(String topic, String key, Object data) {
-        try {
-            var event = objectMapper.writeValueAsString(data);
-            log.info("Sending {} with key {} to topic {}", data, key, topic);
-            kafkaTemplate.send(topic, key, event).join();
-        } catch (Exception ex) {
-            log.error("Error sending Product event", ex);
-        }
+    public CompletableFuture<SendResult<String, byte[]>> sendEvent(String key, byte[] event, String contentType) {
+        var topic = kafkaProps.getProductsTopic();
+        log.debug("Sending {} event of {} bytes with key {} to topic {}", contentType, event.length, key, topic);
+        var sendStartNanos = System.nanoTime();
+        var contentTypeHeader = new RecordHeader(MessageHeaders.CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(new ProducerRecord<>(topic, null, key, event, List.of(contentTypeHeader)))
+                .whenComplete((result, ex) -> {
+                    var ackLatencyNanos = System.nanoTime() - sendStartNanos;
+                    var ackLatencyMillis = TimeUnit.NANOSECONDS.toMillis(ackLatencyNanos);
+                    if (ex != null) {
+                        sendFailures.record(ackLatencyNanos, TimeUnit.NANOSECONDS);
+                        log.error("Error sending product event with key {} to topic {} after {} ms", key, topic, ackLatencyMillis, ex);
+                        return;
+                    }
+                    sendSuccesses.record(ackLatencyNanos, TimeUnit.NANOSECONDS);
+                    log.debug("Product event with key {} acknowledged by partition {} at offset {} in {} ms",
+                            key, result.getRecordMetadata().partition(), result.getRecordMetadata().offset(), ackLatencyMillis);
+                });
     }
 }
@@ -0,0 +1,36 @@
+package com.ingemark.productmanagement.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ingemark.productmanagement.config.props.KafkaProps;
+import com.ingemark.productmanagement.enums.EventFormat;
+import com.ingemark.productmanagement.exceptions.PlatformException;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductEventSerializer {
+
+    private final ObjectMapper objectMapper;
+    private final EventFormat eventFormat;
+
+    public ProductEventSerializer(ObjectMapper objectMapper, KafkaProps kafkaProps) {
+        this.eventFormat = kafkaProps.getProducer().getEventFormat();
+        this.objectMapper = switch (eventFormat) {
+            case JSON -> objectMapper;
+            case SMILE -> objectMapper.copyWith(new SmileFactory());
+        };
+    }
+
+    public byte[] serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException ex) {
+            throw new PlatformException("Product event serialization error", ex.getMessage());
+        }
+    }
+
+    public String getContentType() {
+        return eventFormat.getContentType();
+    }
+}
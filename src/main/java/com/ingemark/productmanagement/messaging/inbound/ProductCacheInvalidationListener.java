@@ -0,0 +1,27 @@
+package com.ingemark.productmanagement.messaging.inbound;
+
+import com.ingemark.productmanagement.cache.ProductCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidationListener {
+
+    private final ProductCacheService productCacheService;
+
+    @KafkaListener(topics = "${product-management.kafka.products-topic}",
+            groupId = "${spring.application.name}-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void invalidateProduct(ConsumerRecord<String, String> productEvent) {
+        try {
+            productCacheService.evictProduct(Long.valueOf(productEvent.key()));
+        } catch (NumberFormatException ex) {
+            log.warn("Unable to invalidate cached product for event key {}", productEvent.key());
+        }
+    }
+}
@@ -19,6 +19,7 @@ public record CreatedProductEvent(
             String name,
             BigDecimal priceEur,
             String description,
-            Boolean isAvailable) {
+            Boolean isAvailable,
+            Long version) {
     }
 }
@@ -21,6 +21,7 @@ public record UpdatedProductEvent(
             String name,
             BigDecimal priceEur,
             String description,
-            Boolean isAvailable) {
+            Boolean isAvailable,
+            Long version) {
     }
 }
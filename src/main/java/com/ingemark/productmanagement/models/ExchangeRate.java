@@ -0,0 +1,7 @@
+package com.ingemark.productmanagement.models;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ExchangeRate(String currency, BigDecimal buyingRate, Instant fetchedAt) {
+}
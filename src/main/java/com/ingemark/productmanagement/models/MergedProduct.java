@@ -0,0 +1,4 @@
+package com.ingemark.productmanagement.models;
+
+public record MergedProduct(Product product, boolean inserted) {
+}
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_id_seq")
+    @SequenceGenerator(name = "product_id_seq", sequenceName = "product_id_seq", allocationSize = 50)
     private Long id;
     @Column(name = "code")
     private String code;
@@ -28,4 +29,7 @@ public class Product {
     private String description;
     @Column(name = "is_available")
     private Boolean isAvailable;
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package com.ingemark.productmanagement.models;
+
+public record ProductCount(long total, boolean estimated) {
+}
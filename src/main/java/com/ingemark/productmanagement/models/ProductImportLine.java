@@ -0,0 +1,4 @@
+package com.ingemark.productmanagement.models;
+
+public record ProductImportLine(long lineNumber, Product product) {
+}
@@ -0,0 +1,4 @@
+package com.ingemark.productmanagement.models;
+
+public record ProductMergeResult(long created, long updated, long superseded) {
+}
@@ -0,0 +1,31 @@
+package com.ingemark.productmanagement.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(setterPrefix = "of")
+@Table(name = "product_outbox")
+public class ProductOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_outbox_id_seq")
+    @SequenceGenerator(name = "product_outbox_id_seq", sequenceName = "product_outbox_id_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+    @Column(name = "payload")
+    private byte[] payload;
+    @Column(name = "content_type")
+    private String contentType;
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,61 @@
+package com.ingemark.productmanagement.repositories;
+
+import com.ingemark.productmanagement.config.MetricsConfig;
+import com.ingemark.productmanagement.models.ExchangeRate;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ExchangeRateJdbcRepository {
+
+    private static final String UPSERT = """
+            insert into exchange_rate (currency, buying_rate, fetched_at)
+            values (?, ?, ?)
+            on conflict (currency) do update
+                set buying_rate = excluded.buying_rate,
+                    fetched_at  = excluded.fetched_at
+            """;
+
+    private static final String DELETE_FETCHED_BEFORE = """
+            delete from exchange_rate
+            where fetched_at < ?
+            """;
+
+    private static final String SELECT_ALL = """
+            select currency, buying_rate, fetched_at from exchange_rate
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    @Transactional
+    public void replaceAll(Map<String, BigDecimal> ratesByCurrency, Instant fetchedAt) {
+        var fetchedAtTimestamp = Timestamp.from(fetchedAt);
+        var rates = List.copyOf(ratesByCurrency.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT, rates, rates.size(), (preparedStatement, rate) -> {
+            preparedStatement.setString(1, rate.getKey());
+            preparedStatement.setBigDecimal(2, rate.getValue());
+            preparedStatement.setTimestamp(3, fetchedAtTimestamp);
+        });
+        jdbcTemplate.update(DELETE_FETCHED_BEFORE, fetchedAtTimestamp);
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    @Transactional(readOnly = true)
+    public List<ExchangeRate> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, (resultSet, rowNum) -> new ExchangeRate(
+                resultSet.getString("currency"),
+                resultSet.getBigDecimal("buying_rate"),
+                resultSet.getTimestamp("fetched_at").toInstant()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.ingemark.productmanagement.repositories;
+
+import com.ingemark.productmanagement.config.MetricsConfig;
+import com.ingemark.productmanagement.models.MergedProduct;
+import com.ingemark.productmanagement.models.Product;
+import com.ingemark.productmanagement.models.ProductImportLine;
+import com.ingemark.productmanagement.models.ProductMergeResult;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductImportRepository {
+
+    private static final String CREATE_STAGING_TABLE = """
+            create temp table product_import_staging
+            (
+                line_number  bigint         not null,
+                code         varchar(10)    not null,
+                name         varchar(255)   not null,
+                price_eur    numeric(38, 2) not null,
+                description  varchar(255),
+                is_available boolean        not null
+            ) on commit drop
+            """;
+
+    private static final String COPY_INTO_STAGING = """
+            copy product_import_staging (line_number, code, name, price_eur, description, is_available)
+            from stdin with (format csv)
+            """;
+
+    private static final String MERGE_STAGING = """
+            with merged as (
+                insert into product (code, name, price_eur, description, is_available)
+                select distinct on (code) code, name, price_eur, description, is_available
+                from product_import_staging
+                order by code, line_number desc
+                on conflict (code) do update
+                    set name         = excluded.name,
+                        price_eur    = excluded.price_eur,
+                        description  = excluded.description,
+                        is_available = excluded.is_available,
+                        version      = product.version + 1
+                    where (product.name, product.price_eur, product.description, product.is_available)
+                              is distinct from
+                          (excluded.name, excluded.price_eur, excluded.description, excluded.is_available)
+                returning id, code, name, price_eur, description, is_available, version, (xmax = 0) as inserted
+            )
+            select id, code, name, price_eur, description, is_available, version, inserted
+            from merged
+            order by id
+            """;
+
+    private static final String COUNT_SUPERSEDED = """
+            select count(*) - count(distinct code) from product_import_staging
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    public long copyIntoStaging(Stream<ProductImportLine> productImportLines, int bufferSize) {
+        return Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            var copyOutputStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_INTO_STAGING, bufferSize);
+            try {
+                var writer = new OutputStreamWriter(copyOutputStream, StandardCharsets.UTF_8);
+                productImportLines.forEach(productImportLine -> writeCopyLine(writer, productImportLine));
+                writer.flush();
+                return copyOutputStream.endCopy();
+            } catch (IOException e) {
+                copyOutputStream.cancelCopy();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                if (copyOutputStream.isActive()) {
+                    copyOutputStream.cancelCopy();
+                }
+                throw e;
+            }
+        }));
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    public ProductMergeResult mergeStaging(int fetchSize, Consumer<MergedProduct> consumer) {
+        var created = new AtomicLong();
+        var updated = new AtomicLong();
+        jdbcTemplate.query(connection -> {
+            var preparedStatement = connection.prepareStatement(MERGE_STAGING,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(fetchSize);
+            return preparedStatement;
+        }, (RowCallbackHandler) resultSet -> {
+            var inserted = resultSet.getBoolean("inserted");
+            (inserted ? created : updated).incrementAndGet();
+            consumer.accept(new MergedProduct(toProduct(resultSet), inserted));
+        });
+        var superseded = Objects.requireNonNull(jdbcTemplate.queryForObject(COUNT_SUPERSEDED, Long.class));
+        return new ProductMergeResult(created.get(), updated.get(), superseded);
+    }
+
+    private Product toProduct(ResultSet resultSet) throws SQLException {
+        return Product.builder()
+                .ofId(resultSet.getLong("id"))
+                .ofCode(resultSet.getString("code"))
+                .ofName(resultSet.getString("name"))
+                .ofPriceEur(resultSet.getBigDecimal("price_eur"))
+                .ofDescription(resultSet.getString("description"))
+                .ofIsAvailable(resultSet.getBoolean("is_available"))
+                .ofVersion(resultSet.getLong("version"))
+                .build();
+    }
+
+    private void writeCopyLine(Writer writer, ProductImportLine productImportLine) {
+        var product = productImportLine.product();
+        try {
+            writer.write(Long.toString(productImportLine.lineNumber()));
+            writer.write(',');
+            writeCopyValue(writer, product.getCode());
+            writer.write(',');
+            writeCopyValue(writer, product.getName());
+            writer.write(',');
+            writer.write(product.getPriceEur().toPlainString());
+            writer.write(',');
+            writeCopyValue(writer, product.getDescription());
+            writer.write(',');
+            writer.write(Boolean.toString(product.getIsAvailable()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCopyValue(Writer writer, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
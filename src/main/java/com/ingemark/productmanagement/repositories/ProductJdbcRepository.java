@@ -0,0 +1,153 @@
+package com.ingemark.productmanagement.repositories;
+
+import com.ingemark.productmanagement.config.MetricsConfig;
+import com.ingemark.productmanagement.exceptions.PlatformException;
+import com.ingemark.productmanagement.models.Product;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductJdbcRepository {
+
+    private static final String SELECT_ALL_ORDER_BY_ID = """
+            select id, code, name, price_eur, description, is_available, version from product
+            order by id
+            """;
+
+    private static final String EXPLAIN_SELECT_ALL = """
+            explain select id from product
+            """;
+
+    private static final String EXPLAIN_SELECT_ALL_BY_NAME = """
+            explain select id from product
+            where name ilike '%' || ? || '%'
+            """;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private static final String UPDATE_BY_ID = """
+            update product
+            set code         = :code,
+                name         = :name,
+                price_eur    = :priceEur,
+                description  = :description,
+                is_available = :isAvailable,
+                version      = version + 1
+            where id = :id
+              and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)
+            returning id, code, name, price_eur, description, is_available, version
+            """;
+
+    private static final String PATCH_BY_ID = """
+            update product
+            set code         = coalesce(:code, code),
+                name         = coalesce(:name, name),
+                price_eur    = coalesce(:priceEur, price_eur),
+                description  = coalesce(:description, description),
+                is_available = coalesce(:isAvailable, is_available),
+                version      = version + 1
+            where id = :id
+              and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)
+            returning id, code, name, price_eur, description, is_available, version
+            """;
+
+    private static final String DELETE_ALL_BY_ID = """
+            delete from product
+            where id = any(?)
+            returning id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    public void streamAll(int fetchSize, Consumer<Product> consumer) {
+        jdbcTemplate.query(connection -> {
+            var preparedStatement = connection.prepareStatement(SELECT_ALL_ORDER_BY_ID,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(fetchSize);
+            return preparedStatement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(toProduct(resultSet)));
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        return toPlanRows(jdbcTemplate.queryForList(EXPLAIN_SELECT_ALL, String.class));
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    @Transactional(readOnly = true)
+    public long estimateCountByName(String name) {
+        return toPlanRows(jdbcTemplate.queryForList(EXPLAIN_SELECT_ALL_BY_NAME, String.class, name));
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    public Optional<Product> updateById(Long id, Product product, Long expectedVersion) {
+        return updateReturning(UPDATE_BY_ID, id, product, expectedVersion);
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    public Optional<Product> patchById(Long id, Product product, Long expectedVersion) {
+        return updateReturning(PATCH_BY_ID, id, product, expectedVersion);
+    }
+
+    @Timed(MetricsConfig.REPOSITORY_INVOCATIONS_METRIC)
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        return jdbcTemplate.query(connection -> {
+            var preparedStatement = connection.prepareStatement(DELETE_ALL_BY_ID);
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return preparedStatement;
+        }, (resultSet, rowNum) -> resultSet.getLong("id"));
+    }
+
+    private Optional<Product> updateReturning(String sql, Long id, Product product, Long expectedVersion) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("id", id, Types.BIGINT)
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT)
+                .addValue("code", product.getCode(), Types.VARCHAR)
+                .addValue("name", product.getName(), Types.VARCHAR)
+                .addValue("priceEur", product.getPriceEur(), Types.NUMERIC)
+                .addValue("description", product.getDescription(), Types.VARCHAR)
+                .addValue("isAvailable", product.getIsAvailable(), Types.BOOLEAN);
+        return namedParameterJdbcTemplate.query(sql, parameters, (resultSet, rowNum) -> toProduct(resultSet))
+                .stream()
+                .findFirst();
+    }
+
+    private long toPlanRows(List<String> plan) {
+        var matcher = PLAN_ROWS.matcher(plan.getFirst());
+        if (!matcher.find()) {
+            throw new PlatformException("Product count estimate error", plan.getFirst());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private Product toProduct(ResultSet resultSet) throws SQLException {
+        return Product.builder()
+                .ofId(resultSet.getLong("id"))
+                .ofCode(resultSet.getString("code"))
+                .ofName(resultSet.getString("name"))
+                .ofPriceEur(resultSet.getBigDecimal("price_eur"))
+                .ofDescription(resultSet.getString("description"))
+                .ofIsAvailable(resultSet.getBoolean("is_available"))
+                .ofVersion(resultSet.getLong("version"))
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ingemark.productmanagement.repositories;
+
+import com.ingemark.productmanagement.models.ProductOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutbox, Long> {
+
+    @Query(value = """
+            select * from product_outbox
+            order by id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<ProductOutbox> findBatchForUpdate(@Param("limit") int limit);
+}
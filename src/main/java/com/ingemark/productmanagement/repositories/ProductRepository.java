@@ -1,18 +1,42 @@
 package com.ingemark.productmanagement.repositories;
 
 import com.ingemark.productmanagement.models.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Transactional
-    void deleteProductById(Long id);
+    @Query(value = """
+            select * from product
+            where name ilike '%' || :name || '%'
+            order by id
+            """, nativeQuery = true)
+    List<Product> findAllByNameContaining(@Param("name") String name, Pageable pageable);
 
-    List<Product> findAllByNameIsContainingIgnoreCase(String name, Pageable pageable);
+    @Query(value = """
+            select count(*) from product
+            where name ilike '%' || :name || '%'
+            """, nativeQuery = true)
+    long countByNameContaining(@Param("name") String name);
+
+    List<Product> findAllByIdGreaterThanOrderById(Long id, Limit limit);
+
+    @Query(value = """
+            select * from product
+            where name ilike '%' || :name || '%' and id > :id
+            order by id
+            limit :limit
+            """, nativeQuery = true)
+    List<Product> findAllByNameContainingAndIdGreaterThan(@Param("name") String name,
+                                                          @Param("id") Long id,
+                                                          @Param("limit") int limit);
 }
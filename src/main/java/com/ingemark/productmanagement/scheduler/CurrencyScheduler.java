@@ -18,7 +18,7 @@ public class CurrencyScheduler {
 
     private final CurrencyCacheService currencyCacheService;
 
-    @Scheduled(cron = "${product-management.scheduler.hnb-cache-refresher.cron}")
+    @Scheduled(cron = "${product-management.schedulers.hnb-cache-refresher.cron}")
     public void refreshCurrencyUSD() {
         log.info("HNB USD currency scheduler started...");
         if (Boolean.FALSE.equals(hnbCacheRefresherSchedulerProps.getEnabled()) ||
@@ -0,0 +1,35 @@
+package com.ingemark.productmanagement.scheduler;
+
+import com.ingemark.productmanagement.config.props.OutboxRelaySchedulerProps;
+import com.ingemark.productmanagement.services.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+
+    private final OutboxRelaySchedulerProps outboxRelaySchedulerProps;
+
+    private final OutboxService outboxService;
+
+    @Scheduled(fixedDelayString = "${product-management.schedulers.outbox-relay.fixed-delay}")
+    public void relayProductEvents() {
+        if (!Boolean.TRUE.equals(outboxRelaySchedulerProps.getEnabled())) {
+            log.debug("Product outbox relay scheduler is disabled!");
+            return;
+        }
+        var batchSize = outboxRelaySchedulerProps.getBatchSize();
+        try {
+            int relayed;
+            do {
+                relayed = outboxService.relayBatch(batchSize);
+            } while (relayed == batchSize);
+        } catch (Exception ex) {
+            log.error("Error in relaying product events: ", ex);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ingemark.productmanagement.scheduler;
+
+import com.ingemark.productmanagement.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-management.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaLagScheduler {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Scheduled(fixedDelayString = "${product-management.schedulers.replica-lag.fixed-delay}")
+    public void checkReplicaLag() {
+        try {
+            replicaRoutingDataSource.refreshReplicaLag();
+        } catch (Exception ex) {
+            log.error("Error in checking replica lag: ", ex);
+        }
+    }
+}
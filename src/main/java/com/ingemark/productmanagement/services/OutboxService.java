@@ -0,0 +1,110 @@
+package com.ingemark.productmanagement.services;
+
+import com.ingemark.productmanagement.messaging.KafkaSender;
+import com.ingemark.productmanagement.messaging.ProductEventSerializer;
+import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
+import com.ingemark.productmanagement.messaging.outbound.DeletedProductEvent;
+import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
+import com.ingemark.productmanagement.models.ProductOutbox;
+import com.ingemark.productmanagement.repositories.ProductOutboxRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final ProductOutboxRepository productOutboxRepository;
+    private final KafkaSender kafkaSender;
+    private final ProductEventSerializer productEventSerializer;
+    private final EntityManager entityManager;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductCreatedEvent(CreatedProductEvent createdProductEvent) {
+        addEvent(createdProductEvent.product().id(), createdProductEvent);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductCreatedEvents(List<CreatedProductEvent> createdProductEvents) {
+        productOutboxRepository.saveAll(createdProductEvents.stream()
+                .map(createdProductEvent -> toProductOutbox(createdProductEvent.product().id(), createdProductEvent))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductUpdatedEvent(UpdatedProductEvent updatedProductEvent) {
+        addEvent(updatedProductEvent.product().id(), updatedProductEvent);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductUpdatedEvents(List<UpdatedProductEvent> updatedProductEvents) {
+        productOutboxRepository.saveAll(updatedProductEvents.stream()
+                .map(updatedProductEvent -> toProductOutbox(updatedProductEvent.product().id(), updatedProductEvent))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductDeletedEvent(DeletedProductEvent deletedProductEvent) {
+        addEvent(deletedProductEvent.product().id(), deletedProductEvent);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductDeletedEvents(List<DeletedProductEvent> deletedProductEvents) {
+        productOutboxRepository.saveAll(deletedProductEvents.stream()
+                .map(deletedProductEvent -> toProductOutbox(deletedProductEvent.product().id(), deletedProductEvent))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addProductImportedEvents(List<CreatedProductEvent> createdProductEvents,
+                                         List<UpdatedProductEvent> updatedProductEvents) {
+        var productOutboxes = Stream.concat(
+                        createdProductEvents.stream()
+                                .map(createdProductEvent -> toProductOutbox(createdProductEvent.product().id(), createdProductEvent)),
+                        updatedProductEvents.stream()
+                                .map(updatedProductEvent -> toProductOutbox(updatedProductEvent.product().id(), updatedProductEvent)))
+                .toList();
+        productOutboxRepository.saveAllAndFlush(productOutboxes);
+        productOutboxes.forEach(entityManager::detach);
+    }
+
+    @Transactional
+    public int relayBatch(int batchSize) {
+        var batch = productOutboxRepository.findBatchForUpdate(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        log.info("Relaying {} product events...", batch.size());
+        var sends = batch.stream()
+                .map(productOutbox -> kafkaSender.sendEvent(productOutbox.getAggregateId().toString(),
+                        productOutbox.getPayload(), productOutbox.getContentType()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(sends).join();
+        productOutboxRepository.deleteAllInBatch(batch);
+        log.info("Relayed {} product events", batch.size());
+        return batch.size();
+    }
+
+    private void addEvent(Long productId, Object event) {
+        productOutboxRepository.save(toProductOutbox(productId, event));
+    }
+
+    private ProductOutbox toProductOutbox(Long productId, Object event) {
+        return ProductOutbox.builder()
+                .ofAggregateId(productId)
+                .ofPayload(productEventSerializer.serialize(event))
+                .ofContentType(productEventSerializer.getContentType())
+                .ofCreatedAt(Instant.now())
+                .build();
+    }
+}
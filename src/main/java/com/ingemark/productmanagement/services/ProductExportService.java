@@ -0,0 +1,117 @@
+package com.ingemark.productmanagement.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingemark.productmanagement.cache.ExchangeRates;
+import com.ingemark.productmanagement.config.props.ProductExportProps;
+import com.ingemark.productmanagement.controllers.responses.ProductResponse;
+import com.ingemark.productmanagement.enums.ExportFormat;
+import com.ingemark.productmanagement.mappers.ProductMapper;
+import com.ingemark.productmanagement.repositories.ProductJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private static final String CSV_HEADER = "id,code,name,priceEur,priceUsd,description,isAvailable";
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final ProductExportProps productExportProps;
+
+    @Transactional(readOnly = true)
+    public long export(ExportFormat exportFormat, ExchangeRates exchangeRates, OutputStream outputStream) throws IOException {
+        try {
+            return switch (exportFormat) {
+                case NDJSON -> exportNdjson(exchangeRates, outputStream);
+                case CSV -> exportCsv(exchangeRates, outputStream);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long exportNdjson(ExchangeRates exchangeRates, OutputStream outputStream) throws IOException {
+        try (var jsonGenerator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            return streamProducts(exchangeRates, productResponse -> {
+                try {
+                    objectMapper.writeValue(jsonGenerator, productResponse);
+                    jsonGenerator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private long exportCsv(ExchangeRates exchangeRates, OutputStream outputStream) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        var exported = streamProducts(exchangeRates, productResponse -> {
+            try {
+                writeCsvLine(writer, productResponse);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return exported;
+    }
+
+    private long streamProducts(ExchangeRates exchangeRates, Consumer<ProductResponse> consumer) {
+        var exported = new AtomicLong();
+        productJdbcRepository.streamAll(productExportProps.getFetchSize(), product -> {
+            consumer.accept(productMapper.toProductResponse(product, exchangeRates, List.of()));
+            exported.incrementAndGet();
+        });
+        return exported.get();
+    }
+
+    private void writeCsvLine(Writer writer, ProductResponse productResponse) throws IOException {
+        writer.write(String.valueOf(productResponse.id()));
+        writer.write(',');
+        writeCsvValue(writer, productResponse.code());
+        writer.write(',');
+        writeCsvValue(writer, productResponse.name());
+        writer.write(',');
+        writer.write(productResponse.priceEur().toPlainString());
+        writer.write(',');
+        writer.write(productResponse.priceUsd().toPlainString());
+        writer.write(',');
+        writeCsvValue(writer, productResponse.description());
+        writer.write(',');
+        writer.write(String.valueOf(productResponse.isAvailable()));
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,240 @@
+package com.ingemark.productmanagement.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingemark.productmanagement.cache.ProductCacheService;
+import com.ingemark.productmanagement.config.props.ProductImportProps;
+import com.ingemark.productmanagement.controllers.requests.ProductRequest;
+import com.ingemark.productmanagement.controllers.responses.ProductImportResponse;
+import com.ingemark.productmanagement.enums.ImportFormat;
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
+import com.ingemark.productmanagement.mappers.CsvRecordReader;
+import com.ingemark.productmanagement.mappers.ProductMapper;
+import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
+import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
+import com.ingemark.productmanagement.models.ProductImportLine;
+import com.ingemark.productmanagement.repositories.ProductImportRepository;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("code", "name", "priceEur", "isAvailable");
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private final ProductImportRepository productImportRepository;
+    private final ProductMapper productMapper;
+    private final ProductCacheService productCacheService;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductImportProps productImportProps;
+
+    @Transactional
+    public ProductImportResponse importProducts(ImportFormat importFormat, InputStream inputStream) {
+        var startedAt = System.nanoTime();
+        var rows = new AtomicLong();
+        var rejected = new AtomicLong();
+        var rejects = new ArrayList<ProductImportResponse.Reject>();
+        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        productImportRepository.createStagingTable();
+        var productImportLines = readProductRequests(importFormat, reader)
+                .peek(productImportRequest -> rows.incrementAndGet())
+                .map(this::validate)
+                .filter(productImportRequest -> {
+                    if (Objects.isNull(productImportRequest.rejectReason())) {
+                        return true;
+                    }
+                    if (rejected.incrementAndGet() <= productImportProps.getMaxReportedRejects()) {
+                        rejects.add(new ProductImportResponse.Reject(productImportRequest.lineNumber(), productImportRequest.rejectReason()));
+                    }
+                    return false;
+                })
+                .map(productImportRequest -> new ProductImportLine(productImportRequest.lineNumber(),
+                        productMapper.toProduct(productImportRequest.productRequest())));
+        var staged = productImportRepository.copyIntoStaging(productImportLines, productImportProps.getCopyBufferSize());
+        var createdProductEvents = new ArrayList<CreatedProductEvent>();
+        var updatedProductEvents = new ArrayList<UpdatedProductEvent>();
+        var productMergeResult = productImportRepository.mergeStaging(productImportProps.getOutboxBatchSize(), mergedProduct -> {
+            if (mergedProduct.inserted()) {
+                createdProductEvents.add(productMapper.toCreatedProductEvent(mergedProduct.product()));
+            } else {
+                updatedProductEvents.add(productMapper.toUpdatedProductEvent(mergedProduct.product()));
+            }
+            if (createdProductEvents.size() + updatedProductEvents.size() >= productImportProps.getOutboxBatchSize()) {
+                addImportedEvents(createdProductEvents, updatedProductEvents);
+            }
+        });
+        addImportedEvents(createdProductEvents, updatedProductEvents);
+        productCacheService.evictAll();
+        var durationNanos = Math.max(System.nanoTime() - startedAt, 1);
+        var productImportResponse = ProductImportResponse.builder()
+                .ofRows(rows.get())
+                .ofCreated(productMergeResult.created())
+                .ofUpdated(productMergeResult.updated())
+                .ofUnchanged(staged - productMergeResult.superseded() - productMergeResult.created() - productMergeResult.updated())
+                .ofSuperseded(productMergeResult.superseded())
+                .ofRejected(rejected.get())
+                .ofRejects(rejects)
+                .ofDurationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .ofRowsPerSecond(rows.get() * TimeUnit.SECONDS.toNanos(1) / durationNanos)
+                .build();
+        log.info("Imported {} product rows: {} created, {} updated, {} unchanged, {} superseded, {} rejected, {} rows/s",
+                productImportResponse.rows(), productImportResponse.created(), productImportResponse.updated(),
+                productImportResponse.unchanged(), productImportResponse.superseded(), productImportResponse.rejected(),
+                productImportResponse.rowsPerSecond());
+        return productImportResponse;
+    }
+
+    private void addImportedEvents(List<CreatedProductEvent> createdProductEvents, List<UpdatedProductEvent> updatedProductEvents) {
+        if (createdProductEvents.isEmpty() && updatedProductEvents.isEmpty()) {
+            return;
+        }
+        outboxService.addProductImportedEvents(createdProductEvents, updatedProductEvents);
+        createdProductEvents.clear();
+        updatedProductEvents.clear();
+    }
+
+    private Stream<ProductImportRequest> readProductRequests(ImportFormat importFormat, BufferedReader reader) {
+        return switch (importFormat) {
+            case NDJSON -> readNdjson(reader);
+            case CSV -> readCsv(reader);
+        };
+    }
+
+    private Stream<ProductImportRequest> readNdjson(BufferedReader reader) {
+        var lineNumber = new AtomicLong();
+        return reader.lines()
+                .map(line -> new IndexedLine(lineNumber.incrementAndGet(), line))
+                .filter(indexedLine -> !indexedLine.line().isBlank())
+                .map(indexedLine -> {
+                    try {
+                        return ProductImportRequest.accepted(indexedLine.lineNumber(),
+                                objectMapper.readValue(indexedLine.line(), ProductRequest.class));
+                    } catch (JsonProcessingException e) {
+                        return ProductImportRequest.rejected(indexedLine.lineNumber(), "line is not a valid product json");
+                    }
+                });
+    }
+
+    private Stream<ProductImportRequest> readCsv(BufferedReader reader) {
+        var csvRecordReader = new CsvRecordReader(reader);
+        var header = readCsvRecord(csvRecordReader);
+        if (Objects.isNull(header)) {
+            throw new InvalidDataException("CSV header is missing");
+        }
+        var columnIndexes = new HashMap<String, Integer>();
+        for (int i = 0; i < header.size(); i++) {
+            columnIndexes.putIfAbsent(header.get(i).trim(), i);
+        }
+        if (!columnIndexes.keySet().containsAll(REQUIRED_CSV_COLUMNS)) {
+            throw new InvalidDataException("CSV header must contain columns %s".formatted(REQUIRED_CSV_COLUMNS));
+        }
+        return Stream.iterate(readCsvRecord(csvRecordReader), Objects::nonNull, csvRecord -> readCsvRecord(csvRecordReader))
+                .filter(csvRecord -> csvRecord.size() > 1 || !csvRecord.getFirst().isBlank())
+                .map(csvRecord -> toProductImportRequest(csvRecordReader.recordLineNumber(), csvRecord, header.size(), columnIndexes));
+    }
+
+    private List<String> readCsvRecord(CsvRecordReader csvRecordReader) {
+        try {
+            return csvRecordReader.readRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProductImportRequest toProductImportRequest(long lineNumber, List<String> csvRecord, int columns,
+                                                        Map<String, Integer> columnIndexes) {
+        if (csvRecord.size() != columns) {
+            return ProductImportRequest.rejected(lineNumber, "line has %d columns but header has %d".formatted(csvRecord.size(), columns));
+        }
+        var priceEur = csvValue(csvRecord, columnIndexes, "priceEur");
+        var isAvailable = csvValue(csvRecord, columnIndexes, "isAvailable");
+        if (!"true".equals(isAvailable) && !"false".equals(isAvailable)) {
+            return ProductImportRequest.rejected(lineNumber, "isAvailable must be true or false");
+        }
+        try {
+            return ProductImportRequest.accepted(lineNumber, ProductRequest.builder()
+                    .ofCode(csvValue(csvRecord, columnIndexes, "code"))
+                    .ofName(csvValue(csvRecord, columnIndexes, "name"))
+                    .ofPriceEur(Objects.isNull(priceEur) ? null : new BigDecimal(priceEur.trim()))
+                    .ofDescription(csvValue(csvRecord, columnIndexes, "description"))
+                    .ofIsAvailable(Boolean.parseBoolean(isAvailable))
+                    .build());
+        } catch (NumberFormatException e) {
+            return ProductImportRequest.rejected(lineNumber, "priceEur must be a number");
+        }
+    }
+
+    private String csvValue(List<String> csvRecord, Map<String, Integer> columnIndexes, String column) {
+        var columnIndex = columnIndexes.get(column);
+        if (Objects.isNull(columnIndex)) {
+            return null;
+        }
+        var value = csvRecord.get(columnIndex);
+        return value.isEmpty() ? null : value;
+    }
+
+    private ProductImportRequest validate(ProductImportRequest productImportRequest) {
+        if (Objects.nonNull(productImportRequest.rejectReason())) {
+            return productImportRequest;
+        }
+        var productRequest = productImportRequest.productRequest();
+        var violations = validator.validate(productRequest);
+        if (!violations.isEmpty()) {
+            return ProductImportRequest.rejected(productImportRequest.lineNumber(), violations.stream()
+                    .map(violation -> "%s %s".formatted(violation.getPropertyPath(), violation.getMessage()))
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (Objects.isNull(productRequest.code())) {
+            return ProductImportRequest.rejected(productImportRequest.lineNumber(), "code must not be null");
+        }
+        if (Objects.isNull(productRequest.priceEur())) {
+            return ProductImportRequest.rejected(productImportRequest.lineNumber(), "priceEur must not be null");
+        }
+        if (productRequest.name().length() > MAX_COLUMN_LENGTH
+                || (Objects.nonNull(productRequest.description()) && productRequest.description().length() > MAX_COLUMN_LENGTH)) {
+            return ProductImportRequest.rejected(productImportRequest.lineNumber(),
+                    "name and description must be at most %d characters".formatted(MAX_COLUMN_LENGTH));
+        }
+        return productImportRequest;
+    }
+
+    private record IndexedLine(long lineNumber, String line) {
+    }
+
+    private record ProductImportRequest(long lineNumber, ProductRequest productRequest, String rejectReason) {
+
+        static ProductImportRequest accepted(long lineNumber, ProductRequest productRequest) {
+            return new ProductImportRequest(lineNumber, productRequest, null);
+        }
+
+        static ProductImportRequest rejected(long lineNumber, String rejectReason) {
+            return new ProductImportRequest(lineNumber, null, rejectReason);
+        }
+    }
+}
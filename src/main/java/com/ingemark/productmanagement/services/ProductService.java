@@ -1,64 +1,209 @@
 package com.ingemark.productmanagement.services;
 
 
+import com.ingemark.productmanagement.cache.ProductCacheService;
+import com.ingemark.productmanagement.cache.SingleFlight;
+import com.ingemark.productmanagement.config.CacheConfig;
+import com.ingemark.productmanagement.datasource.ReplicaRoutingContext;
+import com.ingemark.productmanagement.enums.TotalCount;
+import com.ingemark.productmanagement.exceptions.InvalidDataException;
 import com.ingemark.productmanagement.exceptions.NotFoundException;
+import com.ingemark.productmanagement.exceptions.PreconditionFailedException;
 import com.ingemark.productmanagement.mappers.ProductMapper;
-import com.ingemark.productmanagement.messaging.KafkaSender;
 import com.ingemark.productmanagement.models.Product;
+import com.ingemark.productmanagement.models.ProductCount;
+import com.ingemark.productmanagement.repositories.ProductJdbcRepository;
 import com.ingemark.productmanagement.repositories.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
-    private final KafkaSender kafkaSender;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final OutboxService outboxService;
     private final ProductMapper productMapper;
+    private final ProductCacheService productCacheService;
+    private final SingleFlight<ProductByIdKey, Product> productByIdFlight;
+    private final SingleFlight<Object, List<Product>> productsFlight;
+
+    public ProductService(ProductRepository productRepository,
+                          ProductJdbcRepository productJdbcRepository,
+                          OutboxService outboxService,
+                          ProductMapper productMapper,
+                          ProductCacheService productCacheService,
+                          MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productJdbcRepository = productJdbcRepository;
+        this.outboxService = outboxService;
+        this.productMapper = productMapper;
+        this.productCacheService = productCacheService;
+        this.productByIdFlight = new SingleFlight<>("product-by-id", meterRegistry);
+        this.productsFlight = new SingleFlight<>("products", meterRegistry);
+    }
 
     public List<Product> getAll(int page, int size, String name) {
-        var sort = Sort.by("id");
-        var pageRequest = PageRequest.of(page, size, sort);
-        return (Objects.isNull(name)) ?
-                productRepository.findAll(pageRequest).stream().toList() :
-                productRepository.findAllByNameIsContainingIgnoreCase(name, pageRequest);
+        return productsFlight.execute(new ProductsPageKey(page, size, name, ReplicaRoutingContext.isPrimaryRequired()), () -> (Objects.isNull(name)) ?
+                productRepository.findAll(PageRequest.of(page, size, Sort.by("id"))).stream().toList() :
+                productRepository.findAllByNameContaining(escapeLikePattern(name), PageRequest.of(page, size)));
+    }
+
+    public List<Product> getAllAfter(Long afterId, int size, String name) {
+        return productsFlight.execute(new ProductsAfterKey(afterId, size, name, ReplicaRoutingContext.isPrimaryRequired()), () -> (Objects.isNull(name)) ?
+                productRepository.findAllByIdGreaterThanOrderById(afterId, Limit.of(size)) :
+                productRepository.findAllByNameContainingAndIdGreaterThan(escapeLikePattern(name), afterId, size));
     }
 
+    public ProductCount count(TotalCount totalCount, String name) {
+        return switch (totalCount) {
+            case EXACT -> new ProductCount(Objects.isNull(name) ?
+                    productRepository.count() :
+                    productCacheService.getCount(name, () -> productRepository.countByNameContaining(escapeLikePattern(name))), false);
+            case ESTIMATE -> new ProductCount(Objects.isNull(name) ?
+                    productJdbcRepository.estimateCount() :
+                    productJdbcRepository.estimateCountByName(escapeLikePattern(name)), true);
+        };
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id",
+            condition = "!T(com.ingemark.productmanagement.datasource.ReplicaRoutingContext).isPrimaryRequired()")
     public Product getById(Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Could not find product by this id %d".formatted(id)));
+        return productByIdFlight.execute(new ProductByIdKey(id, ReplicaRoutingContext.isPrimaryRequired()), () -> productRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Could not find product by this id %d".formatted(id))));
     }
 
+    @Transactional
     public Product create(Product product) {
         var createdProduct = productRepository.save(product);
         var createdProductEvent = productMapper.toCreatedProductEvent(createdProduct);
-        kafkaSender.sendProductCreatedEvent(createdProductEvent);
+        outboxService.addProductCreatedEvent(createdProductEvent);
         return createdProduct;
     }
 
-    public Product update(Product product, Long id) {
-        var existingProduct = getById(id);
-        existingProduct.setCode(product.getCode());
-        existingProduct.setName(product.getName());
-        existingProduct.setPriceEur(product.getPriceEur());
-        existingProduct.setDescription(product.getDescription());
-        existingProduct.setIsAvailable(product.getIsAvailable());
-        var updatedProduct = productRepository.saveAndFlush(existingProduct);
+    @Transactional
+    public List<Product> createAll(List<Product> products) {
+        var createdProducts = productRepository.saveAllAndFlush(products);
+        var createdProductEvents = createdProducts.stream()
+                .map(productMapper::toCreatedProductEvent)
+                .toList();
+        outboxService.addProductCreatedEvents(createdProductEvents);
+        return createdProducts;
+    }
+
+    @Transactional
+    public Product update(Product product, Long id, Long expectedVersion) {
+        return publishUpdated(productJdbcRepository.updateById(id, product, expectedVersion), id, expectedVersion);
+    }
+
+    @Transactional
+    public Product patch(Product product, Long id, Long expectedVersion) {
+        return publishUpdated(productJdbcRepository.patchById(id, product, expectedVersion), id, expectedVersion);
+    }
+
+    @Transactional
+    public List<Product> updateAll(List<Product> products) {
+        var productsById = products.stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (first, second) -> {
+                    throw new InvalidDataException("Product with id %d is listed more than once".formatted(first.getId()));
+                }));
+        var existingProducts = productRepository.findAllById(productsById.keySet());
+        if (existingProducts.size() != productsById.size()) {
+            var existingIds = existingProducts.stream()
+                    .map(Product::getId)
+                    .collect(Collectors.toSet());
+            var missingIds = productsById.keySet().stream()
+                    .filter(Predicate.not(existingIds::contains))
+                    .sorted()
+                    .toList();
+            throw new NotFoundException("Could not find products by these ids %s".formatted(missingIds));
+        }
+        existingProducts.forEach(existingProduct -> copyProduct(productsById.get(existingProduct.getId()), existingProduct));
+        var updatedProducts = productRepository.saveAllAndFlush(existingProducts);
+        var updatedProductEvents = updatedProducts.stream()
+                .map(productMapper::toUpdatedProductEvent)
+                .toList();
+        outboxService.addProductUpdatedEvents(updatedProductEvents);
+        productCacheService.evictProducts(productsById.keySet());
+        return updatedProducts;
+    }
+
+    @Transactional
+    public void removeProduct(Long id) {
+        if (productJdbcRepository.deleteAllById(List.of(id)).isEmpty()) {
+            throw new NotFoundException("Could not find product by this id %d".formatted(id));
+        }
+        var deletedProductEvent = productMapper.toDeletedProductEvent(Product.builder().ofId(id).build());
+        outboxService.addProductDeletedEvent(deletedProductEvent);
+        productCacheService.evictProduct(id);
+    }
+
+    @Transactional
+    public List<Long> removeProducts(Collection<Long> ids) {
+        var deletedIds = productJdbcRepository.deleteAllById(ids);
+        var requestedIds = Set.copyOf(ids);
+        if (deletedIds.size() != requestedIds.size()) {
+            var existingIds = Set.copyOf(deletedIds);
+            var missingIds = requestedIds.stream()
+                    .filter(Predicate.not(existingIds::contains))
+                    .sorted()
+                    .toList();
+            throw new NotFoundException("Could not find products by these ids %s".formatted(missingIds));
+        }
+        var deletedProductEvents = deletedIds.stream()
+                .map(deletedId -> productMapper.toDeletedProductEvent(Product.builder().ofId(deletedId).build()))
+                .toList();
+        outboxService.addProductDeletedEvents(deletedProductEvents);
+        productCacheService.evictProducts(deletedIds);
+        return deletedIds;
+    }
+
+    private Product publishUpdated(Optional<Product> updated, Long id, Long expectedVersion) {
+        if (updated.isEmpty() && Objects.nonNull(expectedVersion) && productRepository.existsById(id)) {
+            throw new PreconditionFailedException("Product with id %d does not match version %d".formatted(id, expectedVersion));
+        }
+        var updatedProduct = updated
+                .orElseThrow(() -> new NotFoundException("Could not find product by this id %d".formatted(id)));
         var updatedProductEvent = productMapper.toUpdatedProductEvent(updatedProduct);
-        kafkaSender.sendProductUpdatedEvent(updatedProductEvent);
+        outboxService.addProductUpdatedEvent(updatedProductEvent);
+        productCacheService.evictProduct(id);
         return updatedProduct;
     }
 
-    public void removeProduct(Long id) {
-        var product = getById(id);
-        productRepository.deleteProductById(product.getId());
-        var deletedProductEvent = productMapper.toDeletedProductEvent(product);
-        kafkaSender.sendProductDeletedEvent(deletedProductEvent);
+    private void copyProduct(Product source, Product target) {
+        target.setCode(source.getCode());
+        target.setName(source.getName());
+        target.setPriceEur(source.getPriceEur());
+        target.setDescription(source.getDescription());
+        target.setIsAvailable(source.getIsAvailable());
+    }
+
+    private record ProductByIdKey(Long id, boolean primaryRequired) {
+    }
+
+    private record ProductsPageKey(int page, int size, String name, boolean primaryRequired) {
+    }
+
+    private record ProductsAfterKey(Long afterId, int size, String name, boolean primaryRequired) {
+    }
+
+    private String escapeLikePattern(String name) {
+        return name.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 }
@@ -0,0 +1,3 @@
+create extension if not exists pg_trgm;
+
+create index PRODUCT_NAME_TRGM_IDX on PRODUCT using gin (NAME gin_trgm_ops);
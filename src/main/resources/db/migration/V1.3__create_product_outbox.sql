@@ -0,0 +1,8 @@
+create table PRODUCT_OUTBOX
+(
+    ID           BIGSERIAL   NOT NULL,
+    AGGREGATE_ID bigint      NOT NULL,
+    PAYLOAD      text        NOT NULL,
+    CREATED_AT   timestamptz NOT NULL,
+    primary key (ID)
+);
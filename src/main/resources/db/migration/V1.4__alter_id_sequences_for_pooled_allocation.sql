@@ -0,0 +1,3 @@
+alter sequence PRODUCT_ID_SEQ increment by 50;
+
+alter sequence PRODUCT_OUTBOX_ID_SEQ increment by 50;
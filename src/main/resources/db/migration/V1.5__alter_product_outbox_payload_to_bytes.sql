@@ -0,0 +1,5 @@
+alter table PRODUCT_OUTBOX
+    alter column PAYLOAD type bytea using convert_to(PAYLOAD, 'UTF8');
+
+alter table PRODUCT_OUTBOX
+    add column CONTENT_TYPE varchar(64) NOT NULL default 'application/json';
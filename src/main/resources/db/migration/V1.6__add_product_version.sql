@@ -0,0 +1,2 @@
+alter table PRODUCT
+    add column VERSION bigint NOT NULL default 0;
@@ -0,0 +1,7 @@
+create table EXCHANGE_RATE
+(
+    CURRENCY    varchar(3)  NOT NULL,
+    BUYING_RATE numeric     NOT NULL,
+    FETCHED_AT  timestamptz NOT NULL,
+    primary key (CURRENCY)
+);
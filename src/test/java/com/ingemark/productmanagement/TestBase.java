@@ -2,6 +2,7 @@ package com.ingemark.productmanagement;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.ingemark.productmanagement.cache.CurrencyCacheService;
+import com.ingemark.productmanagement.cache.ProductCacheService;
 import com.ingemark.productmanagement.repositories.ProductRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 @SpringBootTest
 @DirtiesContext
 public abstract class TestBase {
@@ -16,6 +19,9 @@ public abstract class TestBase {
     @Autowired
     protected CurrencyCacheService currencyCacheService;
 
+    @Autowired
+    protected ProductCacheService productCacheService;
+
     @Autowired
     protected ProductRepository productRepository;
 
@@ -25,6 +31,7 @@ public abstract class TestBase {
     protected void setUp() throws Exception {
         clearCurrencyCache();
         productRepository.deleteAll();
+        productCacheService.clear();
         wireMockServer.start();
     }
 
@@ -34,8 +41,8 @@ public abstract class TestBase {
     }
 
     private void clearCurrencyCache() throws Exception {
-        var currencyUSDField = CurrencyCacheService.class.getDeclaredField("currencyUSD");
-        currencyUSDField.setAccessible(true);
-        currencyUSDField.set(currencyCacheService, null);
+        var exchangeRatesField = CurrencyCacheService.class.getDeclaredField("exchangeRates");
+        exchangeRatesField.setAccessible(true);
+        ((AtomicReference<?>) exchangeRatesField.get(currencyCacheService)).set(null);
     }
 }
@@ -2,19 +2,31 @@ package com.ingemark.productmanagement.cache;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.config.props.CurrencyCacheProps;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(OutputCaptureExtension.class)
 class CurrencyCacheServiceTest extends TestBase {
 
+    @Autowired
+    private CurrencyCacheProps currencyCacheProps;
+
     @Test
     @DisplayName("""
             Given request for HNB USD currency
@@ -35,7 +47,7 @@ class CurrencyCacheServiceTest extends TestBase {
                 .contains("Populating USD currency...")
                 .contains("Cache populated with currency 1.10");
 
-        assertThat(currencyUSD).isEqualTo("1.10");
+        assertThat(currencyUSD).isEqualTo("1.100000");
     }
 
     @Test
@@ -55,7 +67,72 @@ class CurrencyCacheServiceTest extends TestBase {
 
         // then
         assertThat(capturedOutput.getAll()).doesNotContain("Cache currency is empty!");
-        assertThat(currencyUSD).isEqualTo("1.10");
+        assertThat(currencyUSD).isEqualTo("1.100000");
+    }
+
+    @Test
+    @DisplayName("""
+            Given currency cache is empty and HNB API responds slowly,
+            when many requests ask for USD currency at the same time,
+            then HNB API is called only once and every request gets the same currency
+            """)
+    void shouldCallHnbApiOnceForConcurrentRequestsIfCurrencyCacheIsEmpty() throws Exception {
+        // given
+        stubHnbCurrencyExchangeApi("1,1000", 300);
+        Callable<BigDecimal> getCurrencyUSD = () -> currencyCacheService.getCurrencyUSD();
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(10)) {
+            var currencies = executor.invokeAll(IntStream.range(0, 10).mapToObj(i -> getCurrencyUSD).toList());
+
+            // then
+            for (var currency : currencies) {
+                assertThat(currency.get()).isEqualTo("1.100000");
+            }
+        }
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/mock/products")));
+    }
+
+    @Test
+    @DisplayName("""
+            Given currency cache is populated and cached currency is stale,
+            when method is called get currency,
+            then stale currency is returned immediately and refreshed currency is returned afterwards
+            """)
+    void shouldReturnStaleCurrencyWhileRefreshingInBackground() {
+        // given
+        stubHnbCurrencyExchangeApi();
+        currencyCacheService.populateCurrencyUSD();
+        stubHnbCurrencyExchangeApi("1,2000", 300);
+        var refreshAfter = currencyCacheProps.getRefreshAfter();
+        currencyCacheProps.setRefreshAfter(Duration.ZERO);
+        try {
+            // when
+            var staleCurrencyUSD = currencyCacheService.getCurrencyUSD();
+
+            // then
+            assertThat(staleCurrencyUSD).isEqualTo("1.100000");
+            Awaitility.await().until(() -> new BigDecimal("1.200000").equals(currencyCacheService.getCurrencyUSD()));
+        } finally {
+            currencyCacheProps.setRefreshAfter(refreshAfter);
+        }
+    }
+
+    void stubHnbCurrencyExchangeApi(String buyingRate, int delayMillis) {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
+                .willReturn(WireMock.aResponse()
+                        .withFixedDelay(delayMillis)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                [
+                                   {
+                                      "drzava":"SAD",
+                                      "drzava_iso":"USA",
+                                      "valuta":"USD",
+                                      "kupovni_tecaj":"%s"
+                                   }
+                                ]
+                                """.formatted(buyingRate))));
     }
 
     void stubHnbCurrencyExchangeApi() {
@@ -0,0 +1,88 @@
+package com.ingemark.productmanagement.cache;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.ingemark.productmanagement.TestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CurrencyCacheWarmUpTest extends TestBase {
+
+    @Autowired
+    private CurrencyCacheWarmUp currencyCacheWarmUp;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("delete from exchange_rate");
+    }
+
+    @Test
+    @DisplayName("""
+            Given HNB API returns exchange rates,
+            when exchange rates are fetched,
+            then fetched rates are persisted for next cold start
+            """)
+    void shouldPersistFetchedExchangeRates() {
+        // given
+        stubHnbCurrencyExchangeApi();
+        // when
+        currencyCacheService.getExchangeRates();
+        // then
+        var persistedUsdRate = jdbcTemplate.queryForObject(
+                "select buying_rate from exchange_rate where currency = 'USD'", BigDecimal.class);
+        assertThat(persistedUsdRate).isEqualByComparingTo("1.10");
+    }
+
+    @Test
+    @DisplayName("""
+            Given exchange rates were persisted by previous instance and HNB API is down,
+            when application warms up currency cache,
+            then persisted rates are served without calling HNB API
+            """)
+    void shouldWarmUpCacheFromPersistedExchangeRates() {
+        // given
+        var fetchedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        jdbcTemplate.update("insert into exchange_rate (currency, buying_rate, fetched_at) values (?, ?, ?)",
+                "USD", new BigDecimal("1.08"), Timestamp.from(fetchedAt));
+        // when
+        currencyCacheWarmUp.run(null);
+        // then
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        assertThat(exchangeRates.rateOf(ExchangeRates.USD)).isEqualByComparingTo("1.08");
+        assertThat(exchangeRates.fetchedAt()).isEqualTo(fetchedAt.truncatedTo(ChronoUnit.MICROS));
+        wireMockServer.verify(0, getRequestedFor(urlEqualTo("/mock/products")));
+    }
+
+    void stubHnbCurrencyExchangeApi() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                [
+                                   {
+                                      "drzava":"SAD",
+                                      "valuta":"USD",
+                                      "kupovni_tecaj":"1,1000"
+                                   }
+                                ]
+                                """)
+                )
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.ingemark.productmanagement.cache;
+
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.config.props.KafkaProps;
+import com.ingemark.productmanagement.fixtures.ProductFixtures;
+import com.ingemark.productmanagement.services.ProductService;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheServiceTest extends TestBase {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Autowired
+    private KafkaProps kafkaProps;
+
+    @Test
+    @DisplayName("""
+            Given product is fetched by id and cached,
+            when product is changed in database and then updated through product service,
+            then cached product is returned until update evicts it
+            """)
+    void shouldReturnCachedProductUntilUpdateEvictsIt() {
+        // given
+        var product = productRepository.save(ProductFixtures.productOne());
+        var id = product.getId();
+        productService.getById(id);
+        product.setName("Changed behind cache");
+        productRepository.save(product);
+
+        // when
+        var cachedProduct = productService.getById(id);
+        var update = ProductFixtures.productOne();
+        update.setName("Updated Game");
+        productService.update(update, id, null);
+
+        // then
+        assertThat(cachedProduct.getName()).isEqualTo("Game");
+        assertThat(productService.getById(id).getName()).isEqualTo("Updated Game");
+    }
+
+    @Test
+    @DisplayName("""
+            Given product is fetched by id and cached,
+            when another instance publishes product event for the same id,
+            then cached product is evicted and fresh product is returned
+            """)
+    void shouldEvictCachedProductOnProductEvent() {
+        // given
+        var product = productRepository.save(ProductFixtures.productTwo());
+        var id = product.getId();
+        productService.getById(id);
+        product.setName("Updated on other instance");
+        productRepository.save(product);
+
+        // when
+        kafkaTemplate.send(kafkaProps.getProductsTopic(), id.toString(),
+                "{\"action\":\"UPDATE\"}".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        Awaitility.await().until(() -> "Updated on other instance".equals(productService.getById(id).getName()));
+    }
+}
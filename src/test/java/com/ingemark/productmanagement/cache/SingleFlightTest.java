@@ -0,0 +1,92 @@
+package com.ingemark.productmanagement.cache;
+
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest extends TestBase {
+
+    @Test
+    @DisplayName("""
+            Given call for key is in flight,
+            when concurrent identical calls arrive,
+            then they share in flight result and are counted as coalesced
+            """)
+    void shouldCoalesceConcurrentIdenticalCalls() throws Exception {
+        // given
+        var meterRegistry = new SimpleMeterRegistry();
+        var singleFlight = new SingleFlight<Long, String>("test", meterRegistry);
+        var invocations = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+                invocations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "product";
+            }), executor);
+            started.await();
+            // when
+            var followers = new ArrayList<CompletableFuture<String>>();
+            for (int i = 0; i < 9; i++) {
+                followers.add(CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+                    invocations.incrementAndGet();
+                    return "duplicate";
+                }), executor));
+            }
+            Awaitility.await().until(() -> coalescedCount(meterRegistry) == 9);
+            release.countDown();
+            // then
+            assertThat(leader.get()).isEqualTo("product");
+            for (var follower : followers) {
+                assertThat(follower.get()).isEqualTo("product");
+            }
+        }
+        assertThat(invocations).hasValue(1);
+        assertThat(meterRegistry.get(SingleFlight.CALLS_METRIC).tag("result", "executed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("""
+            Given previous call for key failed,
+            when same key is requested again,
+            then failure is not remembered and call is executed again
+            """)
+    void shouldExecuteAgainAfterFailedCall() {
+        // given
+        var singleFlight = new SingleFlight<Long, String>("test", new SimpleMeterRegistry());
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            throw new NotFoundException("Could not find product by this id 1");
+        })).isInstanceOf(NotFoundException.class);
+        // when
+        var result = singleFlight.execute(1L, () -> "product");
+        // then
+        assertThat(result).isEqualTo("product");
+    }
+
+    private double coalescedCount(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get(SingleFlight.CALLS_METRIC).tag("result", "coalesced").counter().count();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.ingemark.productmanagement.client;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.config.props.HnbApiClientProps;
+import com.ingemark.productmanagement.enums.CircuitState;
+import com.ingemark.productmanagement.exceptions.PlatformException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = {
+        "product-management.clients.hnb-api.read-timeout=300ms",
+        "product-management.clients.hnb-api.retry.max-attempts=3",
+        "product-management.clients.hnb-api.retry.initial-backoff=10ms",
+        "product-management.clients.hnb-api.retry.max-backoff=20ms",
+        "product-management.clients.hnb-api.circuit-breaker.failure-threshold=2",
+        "product-management.clients.hnb-api.circuit-breaker.open-duration=1m",
+        "product-management.schedulers.hnb-cache-refresher.enabled=false"
+})
+class HnbApiRestClientTest extends TestBase {
+
+    private static final String RATES_URL = "/mock/products";
+    private static final String RATES_BODY = """
+            [
+               {
+                  "drzava":"SAD",
+                  "valuta":"USD",
+                  "kupovni_tecaj":"1,1000"
+               }
+            ]
+            """;
+
+    @Autowired
+    private HnbApiRestClient hnbApiRestClient;
+
+    @Autowired
+    private HnbApiClientProps hnbApiClientProps;
+
+    @Autowired
+    private RestClient restClient;
+
+    @Test
+    @DisplayName("""
+            Given hnb api fails with server error once,
+            when buying rates are fetched,
+            then request is retried and rates are returned
+            """)
+    void shouldRetryServerErrorAndReturnRates() {
+        // given
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(ratesResponse()));
+        // when
+        var buyingRates = hnbApiRestClient.getBuyingRates();
+        // then
+        assertThat(buyingRates).hasSize(1);
+        assertThat(buyingRates.getFirst().buyingRate()).isEqualTo("1,1000");
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo(RATES_URL)));
+    }
+
+    @Test
+    @DisplayName("""
+            Given hnb api returned rates with ETag,
+            when buying rates are fetched again and hnb api answers not modified,
+            then conditional headers are sent and previous rates are returned
+            """)
+    void shouldFetchConditionallyAndReusePreviousRates() {
+        // given
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(ratesResponse()
+                        .withHeader(HttpHeaders.ETAG, "\"rates-1\"")
+                        .withHeader(HttpHeaders.LAST_MODIFIED, "Mon, 01 Jul 2024 08:00:00 GMT")));
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .withHeader(HttpHeaders.IF_NONE_MATCH, equalTo("\"rates-1\""))
+                .willReturn(aResponse().withStatus(304)));
+        var firstBuyingRates = hnbApiRestClient.getBuyingRates();
+        // when
+        var secondBuyingRates = hnbApiRestClient.getBuyingRates();
+        // then
+        assertThat(secondBuyingRates).isEqualTo(firstBuyingRates);
+        wireMockServer.verify(getRequestedFor(urlEqualTo(RATES_URL))
+                .withHeader(HttpHeaders.IF_NONE_MATCH, equalTo("\"rates-1\""))
+                .withHeader(HttpHeaders.IF_MODIFIED_SINCE, equalTo("Mon, 01 Jul 2024 08:00:00 GMT")));
+    }
+
+    @Test
+    @DisplayName("""
+            Given hnb api keeps failing with server error,
+            when failures reach circuit breaker threshold,
+            then further fetches fail fast without calling hnb api
+            """)
+    void shouldOpenCircuitAfterRepeatedFailures() {
+        // given
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(aResponse().withStatus(503)));
+        assertThatThrownBy(() -> hnbApiRestClient.getBuyingRates()).isInstanceOf(PlatformException.class);
+        assertThatThrownBy(() -> hnbApiRestClient.getBuyingRates()).isInstanceOf(PlatformException.class);
+        wireMockServer.resetRequests();
+        // when & then
+        assertThatThrownBy(() -> hnbApiRestClient.getBuyingRates())
+                .isInstanceOf(PlatformException.class)
+                .hasMessageContaining("circuit breaker is open");
+        wireMockServer.verify(0, getRequestedFor(urlEqualTo(RATES_URL)));
+    }
+
+    @Test
+    @DisplayName("""
+            Given circuit breaker is half open after repeated failures,
+            when hnb api answers probe with bad request,
+            then circuit breaker opens again instead of closing
+            """)
+    void shouldReopenHalfOpenCircuitOnNonRetryableError() {
+        // given
+        hnbApiClientProps.getCircuitBreaker().setOpenDuration(Duration.ZERO);
+        var meterRegistry = new SimpleMeterRegistry();
+        var halfOpenHnbApiRestClient = new HnbApiRestClient(hnbApiClientProps, restClient, meterRegistry);
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(aResponse().withStatus(503)));
+        assertThatThrownBy(halfOpenHnbApiRestClient::getBuyingRates).isInstanceOf(PlatformException.class);
+        assertThatThrownBy(halfOpenHnbApiRestClient::getBuyingRates).isInstanceOf(PlatformException.class);
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(aResponse().withStatus(400)));
+        // when
+        assertThatThrownBy(halfOpenHnbApiRestClient::getBuyingRates).isInstanceOf(PlatformException.class);
+        // then
+        assertThat(meterRegistry.get(HnbApiRestClient.CIRCUIT_STATE_METRIC).gauge().value())
+                .isEqualTo(CircuitState.OPEN.ordinal());
+    }
+
+    @Test
+    @DisplayName("""
+            Given cached exchange rates and open circuit breaker,
+            when exchange rates refresh fails fast,
+            then last known exchange rates are still served
+            """)
+    void shouldServeLastKnownRatesWhileCircuitIsOpen() {
+        // given
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(ratesResponse()));
+        var exchangeRates = currencyCacheService.getExchangeRates();
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(aResponse().withStatus(503)));
+        assertThatThrownBy(() -> hnbApiRestClient.getBuyingRates()).isInstanceOf(PlatformException.class);
+        assertThatThrownBy(() -> hnbApiRestClient.getBuyingRates()).isInstanceOf(PlatformException.class);
+        // when & then
+        assertThatThrownBy(() -> currencyCacheService.populateCurrencyUSD())
+                .hasMessageContaining("circuit breaker is open");
+        assertThat(currencyCacheService.getExchangeRates()).isSameAs(exchangeRates);
+    }
+
+    @Test
+    @DisplayName("""
+            Given hnb api hangs,
+            when buying rates are fetched,
+            then every attempt is cut by read timeout and fetch fails in bounded time
+            """)
+    void shouldTimeOutHangingHnbApi() {
+        // given
+        wireMockServer.stubFor(WireMock.get(urlEqualTo(RATES_URL))
+                .willReturn(ratesResponse().withFixedDelay(5_000)));
+        var start = System.nanoTime();
+        // when & then
+        assertThatThrownBy(() -> hnbApiRestClient.getBuyingRates()).isInstanceOf(ResourceAccessException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        wireMockServer.verify(3, getRequestedFor(urlEqualTo(RATES_URL)));
+    }
+
+    private ResponseDefinitionBuilder ratesResponse() {
+        return aResponse()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody(RATES_BODY);
+    }
+}
@@ -3,6 +3,10 @@ package com.ingemark.productmanagement.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.controllers.requests.ProductBatchUpdateRequest;
+import com.ingemark.productmanagement.controllers.requests.ProductPatchRequest;
+import com.ingemark.productmanagement.controllers.requests.ProductUpdateRequest;
+import com.ingemark.productmanagement.controllers.responses.ProductImportResponse;
 import com.ingemark.productmanagement.controllers.responses.ProductResponse;
 import com.ingemark.productmanagement.controllers.responses.ProductsResponse;
 import com.ingemark.productmanagement.enums.Action;
@@ -12,6 +16,7 @@ import com.ingemark.productmanagement.mappers.ProductMapper;
 import com.ingemark.productmanagement.messaging.outbound.CreatedProductEvent;
 import com.ingemark.productmanagement.messaging.outbound.DeletedProductEvent;
 import com.ingemark.productmanagement.messaging.outbound.UpdatedProductEvent;
+import com.ingemark.productmanagement.models.Product;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,9 +30,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -164,6 +171,180 @@ class ProductControllerTest extends TestBase {
         assertThat(thirdProductResponse.isAvailable()).isTrue();
     }
 
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching products page by page with returned cursor,
+            then every product is returned once in id order and last page has no cursor
+            """)
+    void shouldReturnProductsByCursor() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        // when
+        var firstResult = mockMvc.perform(get("/products?size=3"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var firstPage = objectMapper.readValue(firstResult, ProductsResponse.class);
+        var secondResult = mockMvc.perform(get("/products?size=3&cursor=" + firstPage.nextCursor()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var secondPage = objectMapper.readValue(secondResult, ProductsResponse.class);
+        // then
+        assertThat(firstPage.products()).hasSize(3);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(firstPage.products().getLast().id()).isEqualTo(products.get(2).getId());
+        assertThat(secondPage.products()).hasSize(2);
+        assertThat(secondPage.products().getFirst().id()).isEqualTo(products.get(3).getId());
+        assertThat(secondPage.products().getLast().id()).isEqualTo(products.get(4).getId());
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching products after known id and filtered by name,
+            then only matching products with greater id are returned
+            """)
+    void shouldReturnFilteredProductsAfterId() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(get("/products?name=game&after=" + products.get(0).getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productsResponse = objectMapper.readValue(result, ProductsResponse.class);
+        assertThat(productsResponse.products()).hasSize(1);
+        assertThat(productsResponse.products().getFirst().id()).isEqualTo(products.get(1).getId());
+        assertThat(productsResponse.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching products filtered by name with exact total,
+            then total counts all matching products beyond the page
+            """)
+    void shouldReturnExactTotalForFilteredProducts() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(get("/products?name=game&size=1&includeTotal=exact"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productsResponse = objectMapper.readValue(result, ProductsResponse.class);
+        assertThat(productsResponse.products()).hasSize(1);
+        assertThat(productsResponse.total()).isEqualTo(2);
+        assertThat(productsResponse.totalEstimated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching products with estimated total,
+            then total is taken from planner statistics and marked as estimated
+            """)
+    void shouldReturnEstimatedTotalForProducts() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(get("/products?size=1&includeTotal=estimate"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productsResponse = objectMapper.readValue(result, ProductsResponse.class);
+        assertThat(productsResponse.products()).hasSize(1);
+        assertThat(productsResponse.total()).isNotNull().isPositive();
+        assertThat(productsResponse.totalEstimated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching products without total,
+            then total is not computed
+            """)
+    void shouldNotReturnTotalByDefault() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productsResponse = objectMapper.readValue(result, ProductsResponse.class);
+        assertThat(productsResponse.total()).isNull();
+        assertThat(productsResponse.totalEstimated()).isNull();
+    }
+
+    @Test
+    @DisplayName("""
+            Given unsupported total count mode,
+            when fetching products,
+            then status code bad request is returned
+            """)
+    void shouldReturnBadRequestForUnsupportedTotalCount() throws Exception {
+        // when & then
+        mockMvc.perform(get("/products?includeTotal=approximate"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching products filtered by name containing like wildcard,
+            then wildcard is matched literally and no product is returned
+            """)
+    void shouldMatchLikeWildcardsInNameLiterally() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        // when & then
+        mockMvc.perform(get("/products").param("name", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(0)));
+        mockMvc.perform(get("/products").param("name", "G_me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("""
+            Given request with malformed cursor,
+            when fetching products,
+            then bad request is returned with correct message
+            """)
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        // when
+        var result = mockMvc.perform(get("/products?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getDetail()).isEqualTo("attribute cursor is invalid");
+    }
+
     @Test
     @DisplayName("""
             Given multiple products exists in list,
@@ -244,6 +425,309 @@ class ProductControllerTest extends TestBase {
         assertThat(productResponse.isAvailable()).isFalse();
     }
 
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when exporting all products as ndjson,
+            then every product should be streamed as one json line with usd price
+            """)
+    void shouldExportAllProductsAsNdjson() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        // when
+        var asyncResult = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var lines = result.lines().toList();
+        assertThat(lines).hasSize(products.size());
+        for (int i = 0; i < lines.size(); i++) {
+            var productResponse = objectMapper.readValue(lines.get(i), ProductResponse.class);
+            assertThat(productResponse.id()).isEqualTo(products.get(i).getId());
+            assertThat(productResponse.priceUsd()).isEqualTo(productMapper.convertToUsdPrice(products.get(i).getPriceEur()));
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Given product with comma and quotes in description exists,
+            when exporting all products as csv,
+            then header and escaped product line should be streamed
+            """)
+    void shouldExportAllProductsAsCsv() throws Exception {
+        // given
+        var product = ProductFixtures.productFive();
+        product.setDescription("Keyboard, \"mechanical\"");
+        product = productRepository.save(product);
+        stubHnbCurrencyExchangeApi();
+        // when
+        var asyncResult = mockMvc.perform(get("/products/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        assertThat(result.lines().toList()).containsExactly(
+                "id,code,name,priceEur,priceUsd,description,isAvailable",
+                "%d,1234567abc,Keyboard,99.42,%s,\"Keyboard, \"\"mechanical\"\"\",false".formatted(
+                        product.getId(), productMapper.convertToUsdPrice(product.getPriceEur()).toPlainString()));
+    }
+
+    @Test
+    @DisplayName("""
+            Given unsupported export format,
+            when exporting all products,
+            then status code bad request is returned
+            """)
+    void shouldReturnBadRequestForUnsupportedExportFormat() throws Exception {
+        // when
+        var result = mockMvc.perform(get("/products/export?format=xml"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getDetail()).isEqualTo("Export format xml is not supported");
+    }
+
+    @Test
+    @DisplayName("""
+            Given csv with new, existing, repeated and invalid products,
+            when importing products,
+            then products should be merged by code and invalid rows reported
+            """)
+    void shouldImportProductsFromCsv() throws Exception {
+        // given
+        productRepository.save(ProductFixtures.productTwo());
+        var csv = """
+                code,name,priceEur,description,isAvailable
+                7gfgrRHZH8,Game Boy Color,129.99,"Handheld, color",true
+                imPort0001,Imported,10.50,,true
+                short,Invalid,1.00,,true
+                imPort0002,Twice,5.00,,false
+                imPort0002,Twice Again,6.00,,false
+                """;
+        // when
+        var result = mockMvc.perform(post("/products/import?format=csv")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productImportResponse = objectMapper.readValue(result, ProductImportResponse.class);
+        assertThat(productImportResponse.rows()).isEqualTo(5);
+        assertThat(productImportResponse.created()).isEqualTo(2);
+        assertThat(productImportResponse.updated()).isEqualTo(1);
+        assertThat(productImportResponse.unchanged()).isZero();
+        assertThat(productImportResponse.superseded()).isEqualTo(1);
+        assertThat(productImportResponse.rejected()).isEqualTo(1);
+        assertThat(productImportResponse.rejects()).containsExactly(
+                new ProductImportResponse.Reject(4, "code Property must be exactly 10 characters"));
+        assertThat(productRepository.findAll())
+                .extracting(Product::getCode, Product::getName, Product::getDescription)
+                .containsExactlyInAnyOrder(
+                        tuple("7gfgrRHZH8", "Game Boy Color", "Handheld, color"),
+                        tuple("imPort0001", "Imported", null),
+                        tuple("imPort0002", "Twice Again", null));
+    }
+
+    @Test
+    @DisplayName("""
+            Given csv with missing and misspelled isAvailable values,
+            when importing products,
+            then those rows are rejected instead of imported as unavailable
+            """)
+    void shouldRejectCsvRowsWithoutValidIsAvailable() throws Exception {
+        // given
+        var csv = """
+                code,name,priceEur,description,isAvailable
+                imPort0001,Missing,10.50,,
+                imPort0002,Misspelled,10.50,,ture
+                imPort0003,Valid,10.50,,false
+                """;
+        // when
+        var result = mockMvc.perform(post("/products/import?format=csv")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productImportResponse = objectMapper.readValue(result, ProductImportResponse.class);
+        assertThat(productImportResponse.created()).isEqualTo(1);
+        assertThat(productImportResponse.rejected()).isEqualTo(2);
+        assertThat(productImportResponse.rejects()).containsExactly(
+                new ProductImportResponse.Reject(2, "isAvailable must be true or false"),
+                new ProductImportResponse.Reject(3, "isAvailable must be true or false"));
+        assertThat(productRepository.findAll())
+                .extracting(Product::getCode, Product::getIsAvailable)
+                .containsExactly(tuple("imPort0003", false));
+    }
+
+    @Test
+    @DisplayName("""
+            Given ndjson with malformed and invalid lines,
+            when importing products,
+            then valid product should be created and other lines rejected
+            """)
+    void shouldImportProductsFromNdjson() throws Exception {
+        // given
+        var ndjson = """
+                {"code":"imPort0001","name":"Imported","priceEur":10.50,"description":"json","isAvailable":true}
+                {"code":"imPort0002",
+                {"code":"imPort0003","name":"Negative","priceEur":-1,"isAvailable":true}
+                """;
+        // when
+        var result = mockMvc.perform(post("/products/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productImportResponse = objectMapper.readValue(result, ProductImportResponse.class);
+        assertThat(productImportResponse.rows()).isEqualTo(3);
+        assertThat(productImportResponse.created()).isEqualTo(1);
+        assertThat(productImportResponse.rejected()).isEqualTo(2);
+        assertThat(productImportResponse.rejects())
+                .extracting(ProductImportResponse.Reject::line)
+                .containsExactly(2L, 3L);
+        assertThat(productRepository.findAll())
+                .extracting(Product::getCode)
+                .containsExactly("imPort0001");
+
+        Awaitility.await().until(() -> Objects.nonNull(kafkaTestListener.getLatestEvent())
+                && kafkaTestListener.getLatestEvent().contains("imPort0001"));
+        var createdProductEvent = objectMapper.readValue(kafkaTestListener.getLatestEvent(), CreatedProductEvent.class);
+        assertThat(createdProductEvent.eventId()).isNotNull();
+        assertThat(createdProductEvent.action()).isEqualTo(Action.CREATE);
+        assertThat(createdProductEvent.product().name()).isEqualTo("Imported");
+        assertThat(createdProductEvent.product().description()).isEqualTo("json");
+        assertThat(createdProductEvent.product().version()).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+            Given product was fetched with an etag,
+            when fetching the same product with if none match header,
+            then status code not modified is returned without body
+            """)
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        stubHnbCurrencyExchangeApi();
+        var eTag = mockMvc.perform(get("/products/" + product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        // when
+        var result = mockMvc.perform(get("/products/" + product.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("""
+            Given products page was fetched with an etag,
+            when product is updated and page is fetched with if none match header,
+            then status code ok is returned with new etag
+            """)
+    void shouldReturnNewETagAfterProductUpdate() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        var eTag = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        // when
+        mockMvc.perform(put("/products/" + products.get(1).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ProductFixtures.productRequestOne())))
+                .andExpect(status().isOk());
+        var newETag = mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        // then
+        assertThat(newETag).isNotNull().isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("""
+            Given product exists in list and HNB API returns rates for multiple currencies,
+            when fetching product by id with requested currencies,
+            then prices converted by every requested currency rate are returned
+            """)
+    void shouldReturnProductWithPricesInRequestedCurrencies() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        stubHnbMultiCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(get("/products/" + product.getId() + "?currency=gbp,CHF"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productResponse = objectMapper.readValue(result, ProductResponse.class);
+        assertThat(productResponse.priceUsd()).isEqualTo(new BigDecimal("109.36"));
+        assertThat(productResponse.prices()).containsOnlyKeys("GBP", "CHF");
+        assertThat(productResponse.prices().get("GBP")).isEqualTo(new BigDecimal("84.52"));
+        assertThat(productResponse.prices().get("CHF")).isEqualTo(new BigDecimal("94.45"));
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when fetching all products with unsupported currency,
+            then bad request is returned with correct message
+            """)
+    void shouldReturnBadRequestForUnsupportedCurrency() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbMultiCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(get("/products?currency=XYZ"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getDetail()).isEqualTo("Currency XYZ is not supported");
+    }
+
     @Test
     @DisplayName("""
             Given single product in list, and HNB API serivce is down,
@@ -451,6 +935,114 @@ class ProductControllerTest extends TestBase {
         assertThat(response.getInstance()).hasToString("/products");
     }
 
+    @Test
+    @DisplayName("""
+            Given batch of new products,
+            when batch of products is created,
+            then all products are stored and returned with ids and status created
+            """)
+    void shouldCreateBatchOfProductsAndReturnStatusCreated() throws Exception {
+        // given
+        var productBatchRequest = ProductFixtures.productBatchRequest();
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(post("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productBatchRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productsResponse = objectMapper.readValue(result, ProductsResponse.class);
+        assertThat(productsResponse.products()).hasSize(3);
+        assertThat(productsResponse.products()).allSatisfy(productResponse -> assertThat(productResponse.id()).isNotNull());
+        assertThat(productsResponse.products())
+                .extracting(ProductResponse::code)
+                .containsExactly("tkEf14dDFv", "bAtCh00002", "bAtCh00003");
+        assertThat(productRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("""
+            Given batch of new products where one product is invalid,
+            when batch of products is created,
+            then validation exception is returned and no product is stored
+            """)
+    void shouldReturnBadRequestForBatchWithInvalidProduct() throws Exception {
+        // given
+        var invalidProduct = ProductFixtures.newProduct();
+        invalidProduct.setName("");
+        var productBatch = """
+                {"products": [%s, %s]}
+                """.formatted(objectMapper.writeValueAsString(ProductFixtures.newProductRequest()),
+                objectMapper.writeValueAsString(invalidProduct));
+        // when & then
+        mockMvc.perform(post("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productBatch))
+                .andExpect(status().isBadRequest());
+        assertThat(productRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when batch of products is updated,
+            then all products are updated and returned with new data
+            """)
+    void shouldUpdateBatchOfProductsAndReturnStatusOk() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        var productBatchUpdateRequest = ProductBatchUpdateRequest.builder()
+                .ofProducts(List.of(
+                        toProductUpdateRequest(products.get(0).getId(), "Game Renamed", BigDecimal.valueOf(30.00)),
+                        toProductUpdateRequest(products.get(1).getId(), "Game Boy Renamed", BigDecimal.valueOf(150.00))))
+                .build();
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(put("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productBatchUpdateRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productsResponse = objectMapper.readValue(result, ProductsResponse.class);
+        assertThat(productsResponse.products()).hasSize(2);
+        assertThat(productRepository.findById(products.get(0).getId()).orElseThrow().getName()).isEqualTo("Game Renamed");
+        assertThat(productRepository.findById(products.get(1).getId()).orElseThrow().getName()).isEqualTo("Game Boy Renamed");
+    }
+
+    @Test
+    @DisplayName("""
+            Given batch update contains non existing product id,
+            when batch of products is updated,
+            then status code not found is returned with missing ids
+            """)
+    void shouldReturnStatusCodeNotFoundForBatchUpdateOfNonExistingId() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        var productBatchUpdateRequest = ProductBatchUpdateRequest.builder()
+                .ofProducts(List.of(
+                        toProductUpdateRequest(products.get(0).getId(), "Game Renamed", BigDecimal.valueOf(30.00)),
+                        toProductUpdateRequest(-1L, "Missing", BigDecimal.valueOf(1.00))))
+                .build();
+        // when
+        var result = mockMvc.perform(put("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productBatchUpdateRequest)))
+                .andExpect(status().isNotFound())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getDetail()).isEqualTo("Could not find products by these ids [-1]");
+        assertThat(productRepository.findById(products.get(0).getId()).orElseThrow().getName()).isEqualTo("Game");
+    }
+
     @Test
     @DisplayName("""
             Given product does exist in list,
@@ -524,6 +1116,192 @@ class ProductControllerTest extends TestBase {
         assertThat(response.getInstance()).hasToString("/products/" + id);
     }
 
+    @Test
+    @DisplayName("""
+            Given product does exist in list,
+            when only availability is patched,
+            then product is returned with other fields unchanged and message in kafka
+            """)
+    void shouldPatchProductAvailabilityAndReturnStatusCodeOk() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var id = product.getId();
+        var productPatchRequest = ProductPatchRequest.builder()
+                .ofIsAvailable(true)
+                .build();
+        stubHnbCurrencyExchangeApi();
+        // when
+        var result = mockMvc.perform(patch("/products/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productPatchRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productResponse = objectMapper.readValue(result, ProductResponse.class);
+        assertThat(productResponse.id()).isEqualTo(id);
+        assertThat(productResponse.code()).isEqualTo(product.getCode());
+        assertThat(productResponse.name()).isEqualTo(product.getName());
+        assertThat(productResponse.priceEur()).isEqualTo(product.getPriceEur());
+        assertThat(productResponse.description()).isEqualTo(product.getDescription());
+        assertThat(productResponse.isAvailable()).isTrue();
+        assertThat(productRepository.findById(id).orElseThrow().getIsAvailable()).isTrue();
+
+        Awaitility.await().until(() -> Objects.nonNull(kafkaTestListener.getLatestEvent()));
+        var updatedProductEvent = objectMapper.readValue(kafkaTestListener.getLatestEvent(), UpdatedProductEvent.class);
+        assertThat(updatedProductEvent.action()).isEqualTo(Action.UPDATE);
+        assertThat(updatedProductEvent.product().id()).isEqualTo(id);
+        assertThat(updatedProductEvent.product().isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("""
+            Given product does not exist in list,
+            when product is patched,
+            then status code not found is returned
+            """)
+    void shouldReturnStatusCodeNotFoundForPatchOfNonExistingId() throws Exception {
+        // given
+        var productPatchRequest = ProductPatchRequest.builder()
+                .ofIsAvailable(true)
+                .build();
+        // when
+        var result = mockMvc.perform(patch("/products/-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productPatchRequest)))
+                .andExpect(status().isNotFound())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getDetail()).isEqualTo("Could not find product by this id -1");
+    }
+
+    @Test
+    @DisplayName("""
+            Given product does exist in list,
+            when product is patched with blank name,
+            then validation exception is returned
+            """)
+    void shouldReturnValidationExceptionForPatchWithBlankName() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var productPatchRequest = ProductPatchRequest.builder()
+                .ofName(" ")
+                .build();
+        // when
+        mockMvc.perform(patch("/products/" + product.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productPatchRequest)))
+                .andExpect(status().isBadRequest());
+        // then
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo(product.getName());
+    }
+
+    @Test
+    @DisplayName("""
+            Given product does exist in list,
+            when product is patched without any attribute,
+            then status code bad request is returned and product version is unchanged
+            """)
+    void shouldReturnBadRequestForEmptyPatch() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var productPatchRequest = ProductPatchRequest.builder().build();
+        // when
+        var result = mockMvc.perform(patch("/products/" + product.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productPatchRequest)))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getDetail()).isEqualTo("at least one attribute must be patched");
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getVersion()).isEqualTo(product.getVersion());
+    }
+
+    @Test
+    @DisplayName("""
+            Given product does exist in list,
+            when product is patched with current ETag in If-Match,
+            then product is returned with new ETag and versioned message in kafka
+            """)
+    void shouldPatchProductWithMatchingVersionAndReturnStatusCodeOk() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var id = product.getId();
+        var productPatchRequest = ProductPatchRequest.builder()
+                .ofIsAvailable(true)
+                .build();
+        stubHnbCurrencyExchangeApi();
+        var eTag = mockMvc.perform(get("/products/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        // when
+        var newETag = mockMvc.perform(patch("/products/" + id)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productPatchRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        // then
+        assertThat(newETag).isNotNull().isNotEqualTo(eTag);
+        assertThat(productRepository.findById(id).orElseThrow().getVersion()).isEqualTo(product.getVersion() + 1);
+
+        Awaitility.await().until(() -> Objects.nonNull(kafkaTestListener.getLatestEvent()));
+        var updatedProductEvent = objectMapper.readValue(kafkaTestListener.getLatestEvent(), UpdatedProductEvent.class);
+        assertThat(updatedProductEvent.product().id()).isEqualTo(id);
+        assertThat(updatedProductEvent.product().version()).isEqualTo(product.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("""
+            Given product was modified after its ETag was read,
+            when product is updated with stale ETag in If-Match,
+            then status code precondition failed is returned and product is unchanged
+            """)
+    void shouldReturnStatusCodePreconditionFailedForStaleIfMatch() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var id = product.getId();
+        stubHnbCurrencyExchangeApi();
+        var staleETag = mockMvc.perform(get("/products/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch("/products/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ProductPatchRequest.builder().ofIsAvailable(true).build())))
+                .andExpect(status().isOk());
+        var productPatchRequest = ProductPatchRequest.builder()
+                .ofName("Stale name")
+                .build();
+        // when
+        var result = mockMvc.perform(patch("/products/" + id)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productPatchRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getStatus()).isEqualTo(412);
+        assertThat(productRepository.findById(id).orElseThrow().getName()).isEqualTo(product.getName());
+    }
+
     @Test
     @DisplayName("""
             Given product exist in list,
@@ -658,6 +1436,63 @@ class ProductControllerTest extends TestBase {
         assertThat(response.getInstance()).hasToString("/products/" + id);
     }
 
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when removing products by requested ids,
+            then only requested products should be removed and message is send to kafka
+            """)
+    void shouldReturnStatusNoContentOfRemovedProducts() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        var ids = List.of(products.get(0).getId(), products.get(1).getId(), products.get(2).getId());
+        // when
+        mockMvc.perform(delete("/products").param("ids", ids.stream().map(String::valueOf).toArray(String[]::new)))
+                .andExpect(status().isNoContent());
+        // then
+        assertThat(productRepository.findAll())
+                .extracting(Product::getId)
+                .containsExactlyInAnyOrder(products.get(3).getId(), products.get(4).getId());
+        Awaitility.await().until(() -> Objects.nonNull(kafkaTestListener.getLatestEvent()));
+        var deletedProductEvent = objectMapper.readValue(kafkaTestListener.getLatestEvent(), DeletedProductEvent.class);
+        assertThat(deletedProductEvent.action()).isEqualTo(Action.DELETE);
+        assertThat(deletedProductEvent.product().id()).isIn(ids);
+    }
+
+    @Test
+    @DisplayName("""
+            Given multiple products exists in list,
+            when removing products and one of requested ids does not exist,
+            then not found status should be returned and no product removed
+            """)
+    void shouldReturnStatusNotFoundOfNotRemovedProductsByNonExistingId() throws Exception {
+        // given
+        var products = productRepository.saveAll(ProductFixtures.getProductList());
+        // when
+        var result = mockMvc.perform(delete("/products?ids=" + products.get(0).getId() + ",-1"))
+                .andExpect(status().isNotFound())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var response = objectMapper.readValue(result, ProblemDetail.class);
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getDetail()).isEqualTo("Could not find products by these ids [-1]");
+        assertThat(productRepository.count()).isEqualTo(products.size());
+    }
+
+    @Test
+    @DisplayName("""
+            Given no ids are requested,
+            when removing products,
+            then validation exception is returned
+            """)
+    void shouldReturnValidationExceptionOfRemovingProductsWithoutIds() throws Exception {
+        // when & then
+        mockMvc.perform(delete("/products"))
+                .andExpect(status().isBadRequest());
+    }
+
     void stubHnbCurrencyExchangeApi() {
         wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
                 .willReturn(WireMock.aResponse()
@@ -681,6 +1516,33 @@ class ProductControllerTest extends TestBase {
         );
     }
 
+    void stubHnbMultiCurrencyExchangeApi() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                [
+                                   {
+                                      "drzava":"SAD",
+                                      "valuta":"USD",
+                                      "kupovni_tecaj":"1,1000"
+                                   },
+                                   {
+                                      "drzava":"Velika Britanija",
+                                      "valuta":"GBP",
+                                      "kupovni_tecaj":"0,8501"
+                                   },
+                                   {
+                                      "drzava":"Švicarska",
+                                      "valuta":"CHF",
+                                      "kupovni_tecaj":"0,9500"
+                                   }
+                                ]
+                                """)
+                )
+        );
+    }
+
     void stubHnbCurrencyExchangeApiError() {
         wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
                 .willReturn(WireMock.serverError()
@@ -693,4 +1555,16 @@ class ProductControllerTest extends TestBase {
                 )
         );
     }
+
+    private ProductUpdateRequest toProductUpdateRequest(Long id, String name, BigDecimal priceEur) {
+        var product = productRepository.findById(id).orElse(ProductFixtures.newProduct());
+        return ProductUpdateRequest.builder()
+                .ofId(id)
+                .ofCode(product.getCode())
+                .ofName(name)
+                .ofPriceEur(priceEur)
+                .ofDescription(product.getDescription())
+                .ofIsAvailable(product.getIsAvailable())
+                .build();
+    }
 }
\ No newline at end of file
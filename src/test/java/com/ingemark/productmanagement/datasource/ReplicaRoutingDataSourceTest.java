@@ -0,0 +1,249 @@
+package com.ingemark.productmanagement.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.cache.SingleFlight;
+import com.ingemark.productmanagement.config.CacheConfig;
+import com.ingemark.productmanagement.controllers.requests.ProductPatchRequest;
+import com.ingemark.productmanagement.controllers.filters.ReadYourWritesFilter;
+import com.ingemark.productmanagement.controllers.responses.ProductResponse;
+import com.ingemark.productmanagement.fixtures.ProductFixtures;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "product-management.datasource.replicas.enabled=true",
+        "product-management.datasource.replicas.urls[0]=jdbc:postgresql://localhost:5432/postgres_db",
+        "product-management.datasource.replicas.username=postgres",
+        "product-management.datasource.replicas.password=postgres"
+})
+class ReplicaRoutingDataSourceTest extends TestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("""
+            Given replica is configured and in sync,
+            when fetching products,
+            then read only query is routed to replica
+            """)
+    void shouldRouteReadOnlyQueryToReplica() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        var routedToReplica = routedCount("replica-0", "read-only");
+        // when
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isOk());
+        // then
+        assertThat(routedCount("replica-0", "read-only")).isGreaterThan(routedToReplica);
+    }
+
+    @Test
+    @DisplayName("""
+            Given client has just created product,
+            when client fetches created product with last write cookie,
+            then read only query is routed to primary
+            """)
+    void shouldRouteReadAfterOwnWriteToPrimary() throws Exception {
+        // given
+        stubHnbCurrencyExchangeApi();
+        var response = mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ProductFixtures.newProductRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.LAST_WRITE_COOKIE))
+                .andReturn()
+                .getResponse();
+        var lastWriteCookie = response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        var productResponse = objectMapper.readValue(response.getContentAsString(), ProductResponse.class);
+        var routedToReplica = routedCount("replica-0", "read-only");
+        var routedToPrimary = routedCount(ReplicaRoutingDataSource.PRIMARY, "read-your-writes");
+        // when
+        mockMvc.perform(get("/products/" + productResponse.id())
+                        .cookie(new Cookie(lastWriteCookie.getName(), lastWriteCookie.getValue())))
+                .andExpect(status().isOk());
+        // then
+        assertThat(routedCount(ReplicaRoutingDataSource.PRIMARY, "read-your-writes")).isGreaterThan(routedToPrimary);
+        assertThat(routedCount("replica-0", "read-only")).isEqualTo(routedToReplica);
+    }
+
+    @Test
+    @DisplayName("""
+            Given cached product is patched and lagging replica read puts old product back in cache,
+            when client fetches product with last write cookie,
+            then cache is bypassed and patched product is read from primary
+            """)
+    void shouldBypassCacheForReadAfterOwnWrite() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var id = product.getId();
+        stubHnbCurrencyExchangeApi();
+        mockMvc.perform(get("/products/" + id))
+                .andExpect(status().isOk());
+        var response = mockMvc.perform(patch("/products/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ProductPatchRequest.builder()
+                                .ofName("Patched keyboard")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        var lastWriteCookie = response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put(id, product);
+        var routedToPrimary = routedCount(ReplicaRoutingDataSource.PRIMARY, "read-your-writes");
+        // when
+        var result = mockMvc.perform(get("/products/" + id)
+                        .cookie(new Cookie(lastWriteCookie.getName(), lastWriteCookie.getValue())))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        var productResponse = objectMapper.readValue(result, ProductResponse.class);
+        assertThat(productResponse.name()).isEqualTo("Patched keyboard");
+        assertThat(routedCount(ReplicaRoutingDataSource.PRIMARY, "read-your-writes")).isGreaterThan(routedToPrimary);
+    }
+
+    @Test
+    @DisplayName("""
+            Given cached product is patched and lagging replica read puts old product back in cache,
+            when replica max lag has passed,
+            then old product is evicted from cache again
+            """)
+    void shouldEvictProductAgainAfterReplicaMaxLag() throws Exception {
+        // given
+        var product = productRepository.save(ProductFixtures.productFive());
+        var id = product.getId();
+        stubHnbCurrencyExchangeApi();
+        // when
+        mockMvc.perform(patch("/products/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ProductPatchRequest.builder()
+                                .ofName("Patched keyboard")
+                                .build())))
+                .andExpect(status().isOk());
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put(id, product);
+        // then
+        Awaitility.await().until(() -> Objects.isNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(id)));
+    }
+
+    @Test
+    @DisplayName("""
+            Given identical products read is in flight on replica,
+            when client with last write cookie fetches same products concurrently,
+            then read is not coalesced with replica read and is routed to primary
+            """)
+    void shouldNotCoalesceReadAfterOwnWriteWithReplicaRead() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        var lastWriteCookie = new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis()));
+        var executed = singleFlightCount("executed");
+        var coalesced = singleFlightCount("coalesced");
+        var routedToPrimary = routedCount(ReplicaRoutingDataSource.PRIMARY, "read-your-writes");
+        try (var lockConnection = primaryDataSource.getConnection();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            lockConnection.setAutoCommit(false);
+            try (var statement = lockConnection.createStatement()) {
+                statement.execute("lock table product in access exclusive mode");
+            }
+            var replicaRead = CompletableFuture.runAsync(() -> perform(get("/products")), executor);
+            Awaitility.await().until(() -> singleFlightCount("executed") == executed + 1);
+            // when
+            var primaryRead = CompletableFuture.runAsync(() -> perform(get("/products").cookie(lastWriteCookie)), executor);
+            Awaitility.await().until(() -> singleFlightCount("executed") + singleFlightCount("coalesced") == executed + coalesced + 2);
+            lockConnection.rollback();
+            replicaRead.get();
+            primaryRead.get();
+        }
+        // then
+        assertThat(singleFlightCount("executed")).isEqualTo(executed + 2);
+        assertThat(singleFlightCount("coalesced")).isEqualTo(coalesced);
+        assertThat(routedCount(ReplicaRoutingDataSource.PRIMARY, "read-your-writes")).isGreaterThan(routedToPrimary);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) {
+        try {
+            mockMvc.perform(request)
+                    .andExpect(status().isOk());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private double singleFlightCount(String result) {
+        return Optional.ofNullable(meterRegistry.find(SingleFlight.CALLS_METRIC)
+                        .tag("name", "products")
+                        .tag("result", result)
+                        .counter())
+                .map(Counter::count)
+                .orElse(0.0);
+    }
+
+    private double routedCount(String target, String reason) {
+        return Optional.ofNullable(meterRegistry.find(ReplicaRoutingDataSource.ROUTING_METRIC)
+                        .tag("target", target)
+                        .tag("reason", reason)
+                        .counter())
+                .map(Counter::count)
+                .orElse(0.0);
+    }
+
+    void stubHnbCurrencyExchangeApi() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                [
+                                   {
+                                      "drzava":"SAD",
+                                      "valuta":"USD",
+                                      "kupovni_tecaj":"1,1000"
+                                   }
+                                ]
+                                """)
+                )
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.ingemark.productmanagement.fixtures;
 
+import com.ingemark.productmanagement.controllers.requests.ProductBatchRequest;
 import com.ingemark.productmanagement.controllers.requests.ProductRequest;
 import com.ingemark.productmanagement.models.Product;
 import lombok.Builder;
@@ -102,4 +103,24 @@ public class ProductFixtures {
                 .ofIsAvailable(true)
                 .build();
     }
+    public static ProductBatchRequest productBatchRequest() {
+        return ProductBatchRequest.builder()
+                .ofProducts(List.of(
+                        newProductRequest(),
+                        ProductRequest.builder()
+                                .ofCode("bAtCh00002")
+                                .ofName("Gaming Mouse")
+                                .ofPriceEur(BigDecimal.valueOf(49.99))
+                                .ofDescription("Wireless gaming mouse")
+                                .ofIsAvailable(true)
+                                .build(),
+                        ProductRequest.builder()
+                                .ofCode("bAtCh00003")
+                                .ofName("Monitor")
+                                .ofPriceEur(BigDecimal.valueOf(219.00))
+                                .ofDescription("27 inch monitor")
+                                .ofIsAvailable(false)
+                                .build()))
+                .build();
+    }
 }
@@ -0,0 +1,236 @@
+package com.ingemark.productmanagement.limiter;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.config.ConcurrencyLimitConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "product-management.concurrency-limits.reads.initial-limit=1",
+        "product-management.concurrency-limits.reads.min-limit=1",
+        "product-management.concurrency-limits.reads.max-limit=1",
+        "product-management.concurrency-limits.bulk.initial-limit=1",
+        "product-management.concurrency-limits.bulk.min-limit=1",
+        "product-management.concurrency-limits.bulk.max-limit=1"
+})
+class AdaptiveConcurrencyLimiterTest extends TestBase {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier(ConcurrencyLimitConfig.READ_LIMITER)
+    private AdaptiveConcurrencyLimiter readConcurrencyLimiter;
+
+    @Autowired
+    @Qualifier(ConcurrencyLimitConfig.BULK_LIMITER)
+    private AdaptiveConcurrencyLimiter bulkConcurrencyLimiter;
+
+    @Test
+    @DisplayName("""
+            Given read concurrency limit is reached,
+            when fetching products,
+            then status code service unavailable with retry after is returned until permit is released
+            """)
+    void shouldShedReadsOverConcurrencyLimit() throws Exception {
+        // given
+        stubHnbCurrencyExchangeApi();
+        var permit = readConcurrencyLimiter.tryAcquire().orElseThrow();
+        // when & then
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        permit.onIgnore();
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("""
+            Given export is streamed asynchronously,
+            when export is still in progress,
+            then bulk permit is held until async request completes and other exports are shed
+            """)
+    void shouldHoldBulkPermitUntilAsyncExportCompletes() throws Exception {
+        // given
+        stubHnbCurrencyExchangeApi();
+        var exportResult = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // when & then
+        assertThat(bulkConcurrencyLimiter.getInFlight()).isEqualTo(1);
+        assertThat(readConcurrencyLimiter.getInFlight()).isZero();
+        mockMvc.perform(get("/products/export"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(asyncDispatch(exportResult))
+                .andExpect(status().isOk());
+        assertThat(bulkConcurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+            Given bulk concurrency limit is reached,
+            when batch update or bulk delete is requested,
+            then status code service unavailable is returned
+            """)
+    void shouldShedBatchAndBulkDeleteOverBulkConcurrencyLimit() throws Exception {
+        // given
+        var permit = bulkConcurrencyLimiter.tryAcquire().orElseThrow();
+        // when & then
+        mockMvc.perform(put("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(delete("/products?ids=1"))
+                .andExpect(status().isServiceUnavailable());
+        permit.onIgnore();
+        assertThat(bulkConcurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+            Given limiter is saturated with requests at baseline latency,
+            when windows of samples are recorded,
+            then limit grows up to max limit
+            """)
+    void shouldIncreaseLimitWhenSaturatedAtBaselineLatency() {
+        // given
+        var limiter = new AdaptiveConcurrencyLimiter("test", 10, 5, 12, 0.9, 2.0, WINDOW, new SimpleMeterRegistry());
+        var startNanos = System.nanoTime();
+        // when
+        for (int window = 1; window <= 10; window++) {
+            recordWindow(limiter, startNanos, window, Duration.ofMillis(10), limiter.getLimit(), false);
+        }
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("""
+            Given limiter serves steady mix of sub millisecond and slow requests,
+            when windows of samples are recorded,
+            then limit does not back off on slow requests alone
+            """)
+    void shouldNotDecreaseLimitForSteadyMixOfFastAndSlowRequests() {
+        // given
+        var limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100, 0.5, 2.0, WINDOW, new SimpleMeterRegistry());
+        var startNanos = System.nanoTime();
+        // when
+        for (int window = 1; window <= 20; window++) {
+            var windowEndNanos = startNanos + WINDOW.toNanos() * window;
+            for (int i = 0; i < 20; i++) {
+                var rtt = i % 4 == 0 ? Duration.ofMillis(50) : Duration.ofNanos(500_000);
+                limiter.onSample(rtt.toNanos(), limiter.getLimit(), false, windowEndNanos);
+            }
+        }
+        // then
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("""
+            Given limiter has a latency baseline,
+            when window latency rises above tolerance or requests are dropped,
+            then limit backs off down to min limit
+            """)
+    void shouldDecreaseLimitWhenLatencyRisesOrRequestsDrop() {
+        // given
+        var limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100, 0.5, 2.0, WINDOW, new SimpleMeterRegistry());
+        var startNanos = System.nanoTime();
+        recordWindow(limiter, startNanos, 1, Duration.ofMillis(10), 1, false);
+        // when
+        recordWindow(limiter, startNanos, 2, Duration.ofMillis(100), 20, false);
+        var limitAfterSlowWindow = limiter.getLimit();
+        recordWindow(limiter, startNanos, 3, Duration.ofMillis(10), 20, true);
+        recordWindow(limiter, startNanos, 4, Duration.ofMillis(10), 20, true);
+        // then
+        assertThat(limitAfterSlowWindow).isLessThan(20);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("""
+            Given limiter window is not complete yet,
+            when single slow request is recorded,
+            then limit is unchanged
+            """)
+    void shouldNotChangeLimitBeforeWindowCompletes() {
+        // given
+        var limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100, 0.5, 2.0, WINDOW, new SimpleMeterRegistry());
+        var startNanos = System.nanoTime();
+        recordWindow(limiter, startNanos, 1, Duration.ofMillis(10), 20, false);
+        var limitAfterFirstWindow = limiter.getLimit();
+        // when
+        limiter.onSample(Duration.ofSeconds(1).toNanos(), 20, true, startNanos + WINDOW.toNanos() + 1);
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(limitAfterFirstWindow);
+    }
+
+    @Test
+    @DisplayName("""
+            Given limiter has limit of one,
+            when second permit is requested before first is released,
+            then it is rejected and in flight count is unchanged
+            """)
+    void shouldRejectPermitOverLimit() {
+        // given
+        var limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 0.9, 2.0, WINDOW, new SimpleMeterRegistry());
+        var permit = limiter.tryAcquire();
+        // when
+        var rejected = limiter.tryAcquire();
+        // then
+        assertThat(permit).isPresent();
+        assertThat(rejected).isEmpty();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        permit.orElseThrow().onSuccess();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private void recordWindow(AdaptiveConcurrencyLimiter limiter, long startNanos, int window, Duration rtt,
+                              int inFlight, boolean dropped) {
+        var windowEndNanos = startNanos + WINDOW.toNanos() * window;
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(rtt.toNanos(), inFlight, dropped, windowEndNanos);
+        }
+    }
+
+    void stubHnbCurrencyExchangeApi() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                [
+                                   {
+                                      "drzava":"SAD",
+                                      "valuta":"USD",
+                                      "kupovni_tecaj":"1,1000"
+                                   }
+                                ]
+                                """)
+                )
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.ingemark.productmanagement.metrics;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.fixtures.ProductFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointTest extends TestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("""
+            Given products were fetched,
+            when scraping prometheus endpoint,
+            then request, repository, currency cache, concurrency limit and connection pool metrics are exposed
+            """)
+    void shouldExposeHotPathMetrics() throws Exception {
+        // given
+        productRepository.saveAll(ProductFixtures.getProductList());
+        stubHnbCurrencyExchangeApi();
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isOk());
+        // when
+        var result = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        // then
+        assertThat(result)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("http_client_requests_seconds_bucket{")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("product_currency_cache_requests_total{")
+                .contains("product_currency_cache_refresh_seconds_bucket{")
+                .contains("product_currency_rates_age_seconds{")
+                .contains("product_events_send_seconds_bucket{")
+                .contains("product_singleflight_calls_total{")
+                .contains("product_concurrency_limit{")
+                .contains("product_concurrency_inflight{")
+                .contains("hikaricp_connections_active{");
+    }
+
+    void stubHnbCurrencyExchangeApi() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/mock/products"))
+                .willReturn(WireMock.aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                [
+                                   {
+                                      "drzava":"SAD",
+                                      "valuta":"USD",
+                                      "kupovni_tecaj":"1,1000"
+                                   }
+                                ]
+                                """)
+                )
+        );
+    }
+}
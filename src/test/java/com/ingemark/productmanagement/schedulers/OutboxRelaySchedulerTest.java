@@ -0,0 +1,61 @@
+package com.ingemark.productmanagement.schedulers;
+
+import com.ingemark.productmanagement.TestBase;
+import com.ingemark.productmanagement.helpers.KafkaTestListener;
+import com.ingemark.productmanagement.models.ProductOutbox;
+import com.ingemark.productmanagement.repositories.ProductOutboxRepository;
+import com.ingemark.productmanagement.scheduler.OutboxRelayScheduler;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRelaySchedulerTest extends TestBase {
+
+    @Autowired
+    private OutboxRelayScheduler outboxRelayScheduler;
+
+    @Autowired
+    private ProductOutboxRepository productOutboxRepository;
+
+    @Autowired
+    private KafkaTestListener kafkaTestListener;
+
+    @BeforeEach
+    void clean() throws Exception {
+        super.setUp();
+        kafkaTestListener.setLatestEvent(null);
+    }
+
+    @Test
+    @DisplayName("""
+            Given product event is stored in outbox,
+            when outbox relay scheduler is triggered,
+            then event is sent to kafka and removed from outbox
+            """)
+    void shouldRelayOutboxEventToKafkaAndRemoveIt() {
+        // given
+        var payload = "{\"action\":\"DELETE\",\"product\":{\"id\":-7}}";
+        productOutboxRepository.save(ProductOutbox.builder()
+                .ofAggregateId(-7L)
+                .ofPayload(payload.getBytes(StandardCharsets.UTF_8))
+                .ofContentType("application/json")
+                .ofCreatedAt(Instant.now())
+                .build());
+
+        // when
+        outboxRelayScheduler.relayProductEvents();
+
+        // then
+        Awaitility.await().until(() -> Objects.nonNull(kafkaTestListener.getLatestEvent()));
+        assertThat(kafkaTestListener.getLatestEvent()).isEqualTo(payload);
+        Awaitility.await().until(() -> productOutboxRepository.count() == 0);
+    }
+}